@@ -0,0 +1,52 @@
+package io.nerdbyteslns.springboottestingapplication.benchmark;
+
+import io.nerdbyteslns.springboottestingapplication.SpringBootTestingApplication;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Boots the application without a web server and with logging at WARN, so log output doesn't dominate any measurement.
+// Runs against the embedded H2 database unless spring.datasource.* is overridden, e.g. for MySQL:
+// -Djmh.args="-jvmArgsAppend -Dspring.datasource.url=jdbc:mysql://localhost:3308/example_db -Dspring.datasource.username=root ..."
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        String[] allArgs = Arrays.copyOf(args, args.length + 1);
+        allArgs[args.length] = "--logging.level.root=WARN";
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(allArgs);
+    }
+
+    // first names are unique so the single-result name lookups stay valid; last names repeat every 100 rows
+    static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName(firstName(prefix, i))
+                    .lastName(lastName(prefix, i))
+                    .email(prefix + "." + i + "@example.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    static String firstName(String prefix, int i) {
+        return prefix + "First" + i;
+    }
+
+    static String lastName(String prefix, int i) {
+        return prefix + "Last" + (i % 100);
+    }
+}
@@ -0,0 +1,113 @@
+package io.nerdbyteslns.springboottestingapplication.benchmark;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Compares the four name-query styles, as entity lookups and as column projections.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private String[] firstNames;
+    private String[] lastNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        context.getBean(EmployeeService.class).saveEmployees(BenchmarkContext.employees("repository", EMPLOYEES));
+        firstNames = new String[EMPLOYEES];
+        lastNames = new String[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            firstNames[i] = BenchmarkContext.firstName("repository", i);
+            lastNames[i] = BenchmarkContext.lastName("repository", i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee findByJPQL() {
+        int i = next();
+        return employeeRepository.findByJPQL(firstNames[i], lastNames[i]);
+    }
+
+    @Benchmark
+    public Employee findByJPQLNamedParams() {
+        int i = next();
+        return employeeRepository.findByJPQLNamedParams(firstNames[i], lastNames[i]);
+    }
+
+    @Benchmark
+    public Employee findByNativeSQL() {
+        int i = next();
+        return employeeRepository.findByNativeSQL(firstNames[i], lastNames[i]);
+    }
+
+    @Benchmark
+    public Employee findByNativeSQLNamedParams() {
+        int i = next();
+        return employeeRepository.findByNativeSQLNamedParams(firstNames[i], lastNames[i]);
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findNamesByJPQL() {
+        int i = next();
+        return employeeRepository.findNamesByJPQL(firstNames[i], lastNames[i], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findNamesByJPQLNamedParams() {
+        int i = next();
+        return employeeRepository.findNamesByJPQLNamedParams(firstNames[i], lastNames[i], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findNamesByNativeSQL() {
+        int i = next();
+        return employeeRepository.findNamesByNativeSQL(firstNames[i], lastNames[i], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findNamesByNativeSQLNamedParams() {
+        int i = next();
+        return employeeRepository.findNamesByNativeSQLNamedParams(firstNames[i], lastNames[i], FIRST_PAGE);
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+}
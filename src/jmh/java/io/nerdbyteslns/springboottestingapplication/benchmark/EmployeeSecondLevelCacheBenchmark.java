@@ -0,0 +1,108 @@
+package io.nerdbyteslns.springboottestingapplication.benchmark;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository lookups with the Hibernate second-level and query caches on and off. Besides the time per lookup,
+// the "statements" and "lookups" counters give JDBC statements per lookup (statements / lookups): 1 without the
+// caches, close to 0 once they are warm.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSecondLevelCacheBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private Statistics statistics;
+    private long[] ids;
+    private String[] emails;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounters {
+        public long statements;
+        public long lookups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            lookups = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        List<EmployeeBatchResult> results = context.getBean(EmployeeService.class)
+                .saveEmployees(BenchmarkContext.employees("cache", EMPLOYEES));
+        ids = results.stream().mapToLong(EmployeeBatchResult::getId).toArray();
+        emails = results.stream().map(EmployeeBatchResult::getEmail).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findById(StatementCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        Optional<Employee> employee = employeeRepository.findById(ids[next()]);
+        count(counters, before);
+        return employee;
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail(StatementCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        Optional<Employee> employee = employeeRepository.findByEmail(emails[next()]);
+        count(counters, before);
+        return employee;
+    }
+
+    private void count(StatementCounters counters, long before) {
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        counters.lookups++;
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+}
@@ -0,0 +1,108 @@
+package io.nerdbyteslns.springboottestingapplication.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeJsonCache;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the response bodies, using the same builder defaults Spring Boot applies to its ObjectMapper.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EmployeeJsonCache jsonCache;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getCache().setMaximumSize(200_000);
+        jsonCache = new EmployeeJsonCache(objectMapper, properties);
+        employee = BenchmarkContext.employees("json", 1).get(0);
+        employee.setId(1L);
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmployeeList {
+
+        @Param({"10", "1000", "100000"})
+        private int size;
+
+        private List<Employee> employees;
+        // holds a fragment for every employee, as after single-employee reads of the whole list
+        private EmployeeJsonCache warmCache;
+
+        @Setup
+        public void setUp() {
+            employees = BenchmarkContext.employees("json", size);
+            for (int i = 0; i < size; i++) {
+                employees.get(i).setId(i + 1);
+            }
+            EmployeeProperties properties = new EmployeeProperties();
+            properties.getCache().setMaximumSize(200_000);
+            warmCache = new EmployeeJsonCache(Jackson2ObjectMapperBuilder.json().build(), properties);
+            employees.forEach(warmCache::get);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList(EmployeeList list) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(list.employees);
+    }
+
+    // warm EmployeeJsonCache: the cost left on a hit is a map lookup
+    @Benchmark
+    public byte[] cachedEmployee() {
+        return jsonCache.getBytes(employee);
+    }
+
+    // how EmployeeController assembles a list: cached fragments concatenated, misses serialized without caching
+    @Benchmark
+    public byte[] cachedEmployeeList(EmployeeList list) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            generator.writeStartArray();
+            for (Employee listEmployee : list.employees) {
+                SerializableString json = list.warmCache.getIfPresent(listEmployee.getId(), listEmployee.getVersion());
+                if (json != null) {
+                    generator.writeRawValue(json);
+                } else {
+                    objectMapper.writeValue(generator, listEmployee);
+                }
+            }
+            generator.writeEndArray();
+        }
+        return body.toByteArray();
+    }
+}
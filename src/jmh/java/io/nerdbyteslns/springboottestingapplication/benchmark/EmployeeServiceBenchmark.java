@@ -0,0 +1,89 @@
+package io.nerdbyteslns.springboottestingapplication.benchmark;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long[] ids;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        employeeService = context.getBean(EmployeeService.class);
+        ids = employeeService.saveEmployees(BenchmarkContext.employees("service", EMPLOYEES)).stream()
+                .mapToLong(EmployeeBatchResult::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesPage() {
+        return employeeService.getEmployeesPage(ids[ThreadLocalRandom.current().nextInt(ids.length)], 100);
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findEmployeesByName() {
+        int i = ThreadLocalRandom.current().nextInt(EMPLOYEES);
+        return employeeService.findEmployeesByName(BenchmarkContext.firstName("service", i), BenchmarkContext.lastName("service", i), 0, 20);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResult> searchEmployees() {
+        String lastName = BenchmarkContext.lastName("service", ThreadLocalRandom.current().nextInt(EMPLOYEES));
+        return employeeService.searchEmployees(lastName.substring(0, lastName.length() - 1), 10);
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        long n = emailSequence.incrementAndGet();
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("bench." + n + "@example.com")
+                .build());
+    }
+}
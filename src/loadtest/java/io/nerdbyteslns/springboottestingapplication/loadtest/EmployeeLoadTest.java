@@ -0,0 +1,411 @@
+package io.nerdbyteslns.springboottestingapplication.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nerdbyteslns.springboottestingapplication.SpringBootTestingApplication;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.reactive.ReactiveEmployeeApplication;
+import io.nerdbyteslns.springboottestingapplication.reactive.model.ReactiveEmployee;
+import io.nerdbyteslns.springboottestingapplication.reactive.repository.ReactiveEmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives a weighted mix of create, get, list, update and delete against the application booted once per mode,
+// and prints throughput and latency percentiles per operation. "platform" and "virtual" are the servlet stack on
+// the two thread models, "reactive" is ReactiveEmployeeApplication (WebFlux on Netty over R2DBC).
+//
+// Requests are issued open loop at a fixed rate. Each one's latency is measured from the moment it was scheduled
+// to start, not from when it was actually sent, so time spent queued behind a slow server (or behind the
+// in-flight cap) is counted instead of silently skipped: the coordinated-omission correction. Full HdrHistogram
+// percentile distributions are written to loadtest.report-dir as <mode>-<operation>.hgrm for plotting.
+//
+// "offered/s" is the rate requests were scheduled at, which an open loop sets regardless of the server.
+// "achieved/s" is successful completions over the time from the start to the last completion, so a server
+// that falls behind shows up as the gap between the two rather than being hidden by the fixed schedule.
+//
+// The servlet entity cache and Hibernate's second-level cache are disabled so that every read pays for a database
+// round trip on every stack.
+public final class EmployeeLoadTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private EmployeeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 1000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        String[] modes = System.getProperty("loadtest.modes", "platform,virtual,reactive").split(",");
+        Mix mix = Mix.parse(System.getProperty("loadtest.mix", "get=70,list=10,create=10,update=5,delete=5"));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+
+        List<Report> reports = new ArrayList<>();
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext context = start(mode.trim())) {
+                IdPool pool = seed(context);
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees");
+                Workload workload = new Workload(baseUri, pool);
+                run(workload, mix, rate, concurrency, warmup, new Report(mode.trim(), warmup));
+                Report report = new Report(mode.trim(), duration);
+                run(workload, mix, rate, concurrency, duration, report);
+                report.write(reportDir);
+                reports.add(report);
+            }
+        }
+
+        System.out.printf("%nrate=%d/s concurrency=%d duration=%ss mix=%s%n", rate, concurrency, duration.toSeconds(), mix);
+        System.out.printf("%-10s %-8s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "mode", "op", "requests", "errors", "offered/s", "achieved/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Report report : reports) {
+            report.print(System.out);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        if ("reactive".equals(mode)) {
+            return ReactiveEmployeeApplication.builder()
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .run("--server.port=0",
+                            "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest-reactive?options=DB_CLOSE_DELAY=-1",
+                            "--logging.level.root=WARN");
+        }
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode,
+                        "--employee.cache.maximum-size=0",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--employee.admission.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private static IdPool seed(ConfigurableApplicationContext context) {
+        IdPool pool = new IdPool();
+        ReactiveEmployeeRepository reactiveRepository = context.getBeanProvider(ReactiveEmployeeRepository.class).getIfAvailable();
+        if (reactiveRepository != null) {
+            List<ReactiveEmployee> employees = new ArrayList<>(EMPLOYEES);
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(ReactiveEmployee.builder()
+                        .firstName("Load" + i)
+                        .lastName("Test")
+                        .email("load." + i + "@example.com")
+                        .build());
+            }
+            reactiveRepository.saveAll(employees).toStream().forEach(employee -> pool.add(employee.getId(), employee.getVersion()));
+            return pool;
+        }
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder()
+                    .firstName("Load" + i)
+                    .lastName("Test")
+                    .email("load." + i + "@example.com")
+                    .build());
+        }
+        context.getBean(EmployeeService.class).saveEmployees(employees).stream()
+                .map(EmployeeBatchResult::getId)
+                .forEach(id -> pool.add(id, 0L));
+        return pool;
+    }
+
+    // open loop: request i is due at start + i / rate whether or not earlier ones have completed
+    private static void run(Workload workload, Mix mix, int rate, int concurrency, Duration duration, Report report) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        report.start(start);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * interval;
+                if (intendedStart >= deadline) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = mix.next();
+                executor.execute(() -> {
+                    boolean ok = false;
+                    try {
+                        inFlight.acquire();
+                        try {
+                            ok = workload.execute(operation);
+                        } finally {
+                            inFlight.release();
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (IOException | RuntimeException ex) {
+                        ok = false;
+                    }
+                    report.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), ok);
+                });
+            }
+        }
+    }
+
+    enum Operation {
+        CREATE, GET, LIST, UPDATE, DELETE
+    }
+
+    // weighted operation mix, e.g. "get=70,list=10,create=10,update=5,delete=5"
+    private record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+            }
+            Operation[] operations = weights.keySet().toArray(Operation[]::new);
+            int[] cumulative = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("loadtest.mix needs at least one positive weight: " + spec);
+            }
+            return new Mix(operations, cumulative);
+        }
+
+        Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < operations.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < operations.length; i++) {
+                builder.append(i == 0 ? "" : ",").append(operations[i].name().toLowerCase(Locale.ROOT))
+                        .append('=').append(cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]));
+            }
+            return builder.toString();
+        }
+    }
+
+    // ids known to exist and their last seen version; creates add to it, deletes take from it
+    private static final class IdPool {
+
+        private final List<Long> ids = new ArrayList<>();
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final Map<Long, Long> versions = new HashMap<>();
+
+        synchronized void add(long id, long version) {
+            positions.put(id, ids.size());
+            ids.add(id);
+            versions.put(id, version);
+        }
+
+        // 0 when the pool is empty
+        synchronized long pick() {
+            return ids.isEmpty() ? 0 : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized long take() {
+            long id = pick();
+            if (id != 0) {
+                int position = positions.remove(id);
+                long last = ids.remove(ids.size() - 1);
+                if (last != id) {
+                    ids.set(position, last);
+                    positions.put(last, position);
+                }
+                versions.remove(id);
+            }
+            return id;
+        }
+
+        synchronized long version(long id) {
+            return versions.getOrDefault(id, 0L);
+        }
+
+        synchronized void updated(long id, long version) {
+            versions.computeIfPresent(id, (key, old) -> Math.max(old, version));
+        }
+    }
+
+    private static final class Workload {
+
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final AtomicLong created = new AtomicLong();
+        private final URI baseUri;
+        private final IdPool pool;
+
+        Workload(URI baseUri, IdPool pool) {
+            this.baseUri = baseUri;
+            this.pool = pool;
+        }
+
+        // true for a 2xx response
+        boolean execute(Operation operation) throws IOException, InterruptedException {
+            return switch (operation) {
+                case CREATE -> {
+                    String body = employeeJson("Load", "Created", "created." + created.incrementAndGet() + "@example.com", null);
+                    HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri).POST(HttpRequest.BodyPublishers.ofString(body)));
+                    if (isSuccess(response)) {
+                        JsonNode employee = OBJECT_MAPPER.readTree(response.body());
+                        pool.add(employee.get("id").asLong(), employee.get("version").asLong());
+                    }
+                    yield isSuccess(response);
+                }
+                case GET -> isSuccess(send(HttpRequest.newBuilder(uri("/" + pool.pick())).GET()));
+                case LIST -> isSuccess(send(HttpRequest.newBuilder(uri("?limit=20&after=" + pool.pick())).GET()));
+                case UPDATE -> {
+                    long id = pool.pick();
+                    long version = pool.version(id);
+                    String body = employeeJson("Load", "Updated", "updated." + id + "@example.com", version);
+                    HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/" + id)).PUT(HttpRequest.BodyPublishers.ofString(body)));
+                    if (isSuccess(response)) {
+                        pool.updated(id, OBJECT_MAPPER.readTree(response.body()).get("version").asLong());
+                    }
+                    yield isSuccess(response);
+                }
+                case DELETE -> isSuccess(send(HttpRequest.newBuilder(uri("/" + pool.take())).DELETE()));
+            };
+        }
+
+        private URI uri(String suffix) {
+            return URI.create(baseUri + suffix);
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            return client.send(request.header("Content-Type", "application/json").build(), HttpResponse.BodyHandlers.ofString());
+        }
+
+        private static boolean isSuccess(HttpResponse<?> response) {
+            return response.statusCode() / 100 == 2;
+        }
+
+        private static String employeeJson(String firstName, String lastName, String email, Long version) {
+            Map<String, Object> employee = new HashMap<>();
+            employee.put("firstName", firstName);
+            employee.put("lastName", lastName);
+            employee.put("email", email);
+            if (version != null) {
+                employee.put("version", version);
+            }
+            try {
+                return OBJECT_MAPPER.writeValueAsString(employee);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    private static final class Report {
+
+        private final String mode;
+        private final Duration duration;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        private final AtomicLong lastCompletion = new AtomicLong();
+        private long start;
+
+        Report(String mode, Duration duration) {
+            this.mode = mode;
+            this.duration = duration;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        void start(long startNanos) {
+            this.start = startNanos;
+            this.lastCompletion.set(startNanos);
+        }
+
+        void record(Operation operation, long micros, boolean ok) {
+            lastCompletion.accumulateAndGet(System.nanoTime(), Math::max);
+            latencies.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors.get(operation).increment();
+            }
+        }
+
+        void print(PrintStream out) {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long totalErrors = 0;
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = latencies.get(operation);
+                if (histogram.getTotalCount() > 0) {
+                    print(out, operation.name().toLowerCase(Locale.ROOT), histogram, errors.get(operation).sum());
+                    total.add(histogram);
+                    totalErrors += errors.get(operation).sum();
+                }
+            }
+            print(out, "all", total, totalErrors);
+        }
+
+        private void print(PrintStream out, String operation, Histogram histogram, long errorCount) {
+            // requests still in flight at the deadline stretch the elapsed time, not the offered rate
+            double elapsedSeconds = Math.max(1, lastCompletion.get() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+            out.printf("%-10s %-8s %10d %8d %10.0f %10.0f %10.2f %10.2f %10.2f %10.2f%n", mode, operation,
+                    histogram.getTotalCount(), errorCount, histogram.getTotalCount() / (double) duration.toSeconds(),
+                    (histogram.getTotalCount() - errorCount) / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+        }
+
+        void write(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+                if (entry.getValue().getTotalCount() == 0) {
+                    continue;
+                }
+                Path file = directory.resolve(mode + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    // micros in, milliseconds out
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+}
@@ -2,8 +2,15 @@ package io.nerdbyteslns.springboottestingapplication;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC belongs to the reactive variant (see reactive.ReactiveEmployeeApplication); a ConnectionFactory here
+// would switch off the JDBC DataSource that JPA runs on.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class SpringBootTestingApplication {
 
     public static void main(String[] args) {
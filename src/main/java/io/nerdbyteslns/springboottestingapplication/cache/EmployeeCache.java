@@ -0,0 +1,56 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+// Bounded read-through cache of employees by id. Hit, miss and eviction counts are published
+// as the "employees" cache meters (cache.gets, cache.evictions, ...) under /actuator/metrics.
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    private final Cache<Long, Employee> cache;
+
+    public EmployeeCache(EmployeeProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .recordStats()
+                .build();
+    }
+
+    // missing employees are not cached, so a later create is visible straight away
+    public Optional<Employee> get(Long id, Function<Long, Optional<Employee>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void put(Employee employee) {
+        cache.put(employee.getId(), employee);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "employees");
+    }
+}
@@ -0,0 +1,22 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collection-level version of the employees table, bumped after every committed write.
+// The epoch keeps versions from a previous run (counter restarted at 0) from matching.
+@Component
+public class EmployeeChangeCounter {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+
+    public void increment() {
+        changes.incrementAndGet();
+    }
+
+    public String current() {
+        return Long.toString(epoch, 36) + "-" + changes.get();
+    }
+}
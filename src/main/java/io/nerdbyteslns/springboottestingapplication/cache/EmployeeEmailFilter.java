@@ -0,0 +1,153 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Bloom filter over the emails in the employees table, so the bulk create path only asks the database about
+// emails that might already exist. A "no" is definite; a "maybe" is checked with a query. Emails cannot be
+// removed, so deletes and renames linger until the next rebuild. An email missing from the filter (e.g. written
+// while a rebuild was scanning) is still caught by the unique index, it just costs the slower fallback.
+@Component
+public class EmployeeEmailFilter implements MeterBinder {
+
+    private final EmployeeProperties.EmailFilter properties;
+    private volatile Bits bits;
+    // receives adds while a rebuild is scanning the table, so writes racing with the scan are not lost
+    private volatile Bits next;
+    // until the first load finishes every email is a "maybe"
+    private volatile boolean loaded;
+    private volatile int lastSize;
+
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder present = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public EmployeeEmailFilter(EmployeeProperties properties) {
+        this.properties = properties.getEmailFilter();
+        this.bits = new Bits(this.properties.getExpectedInsertions(), this.properties.getFalsePositiveRate());
+    }
+
+    public boolean mightContain(String email) {
+        return !loaded || bits.mightContain(email);
+    }
+
+    public void add(String email) {
+        bits.put(email);
+        Bits pending = next;
+        if (pending != null) {
+            pending.put(email);
+        }
+    }
+
+    // source feeds every current email to the consumer it is given
+    public void rebuild(Consumer<Consumer<String>> source) {
+        Bits fresh = new Bits(Math.max(properties.getExpectedInsertions(), lastSize * 2), properties.getFalsePositiveRate());
+        next = fresh;
+        int[] size = {0};
+        source.accept(email -> {
+            fresh.put(email);
+            size[0]++;
+        });
+        bits = fresh;
+        next = null;
+        lastSize = size[0];
+        loaded = true;
+    }
+
+    // absentEmails were ruled out by the filter; of the lookups it let through to the database, found existed
+    public void recordLookups(int absentEmails, int lookups, int found) {
+        absent.add(absentEmails);
+        present.add(found);
+        falsePositives.add(lookups - found);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.email.filter", absent, LongAdder::sum)
+                .tag("result", "absent")
+                .description("Emails the filter ruled out without a query")
+                .register(registry);
+        FunctionCounter.builder("employee.email.filter", present, LongAdder::sum)
+                .tag("result", "present")
+                .register(registry);
+        FunctionCounter.builder("employee.email.filter", falsePositives, LongAdder::sum)
+                .tag("result", "false_positive")
+                .description("Emails the filter sent to the database that turned out not to exist")
+                .register(registry);
+        Gauge.builder("employee.email.filter.false.positive.rate", this, EmployeeEmailFilter::falsePositiveRate)
+                .description("Share of new emails the filter failed to rule out")
+                .register(registry);
+    }
+
+    public double falsePositiveRate() {
+        long fp = falsePositives.sum();
+        long negatives = fp + absent.sum();
+        return negatives == 0 ? 0.0 : (double) fp / negatives;
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+
+        Bits(int expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+            this.words = new AtomicLongArray((int) ((m + 63) >>> 6));
+            this.size = (long) words.length() << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        }
+
+        void put(String email) {
+            long hash = hash(email);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % size;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String email) {
+            long hash = hash(email);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % size;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur3 mix; the halves feed double hashing
+        private static long hash(String email) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
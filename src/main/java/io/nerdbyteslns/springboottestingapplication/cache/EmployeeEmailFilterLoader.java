@@ -0,0 +1,68 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Loads the email filter before the web server starts taking requests, then rebuilds it periodically to shed
+// the emails of deleted and renamed employees.
+@Slf4j
+@Component
+public class EmployeeEmailFilterLoader implements SmartInitializingSingleton, SchedulingConfigurer {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEmailFilter emailFilter;
+    private final Duration rebuildInterval;
+
+    public EmployeeEmailFilterLoader(EmployeeRepository employeeRepository, EmployeeEmailFilter emailFilter,
+                                     EmployeeProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.emailFilter = emailFilter;
+        this.rebuildInterval = properties.getEmailFilter().getRebuildInterval();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::rebuild, rebuildInterval, rebuildInterval));
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        int[] count = {0};
+        emailFilter.rebuild(sink -> forEachEmail(email -> {
+            sink.accept(email);
+            count[0]++;
+        }));
+        log.info("Loaded {} employee emails into the duplicate filter in {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void forEachEmail(Consumer<String> consumer) {
+        long after = 0L;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE));
+            page.forEach(employee -> consumer.accept(employee.getEmail()));
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+}
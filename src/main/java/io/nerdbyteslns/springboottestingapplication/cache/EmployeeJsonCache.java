@@ -0,0 +1,84 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+// Already-encoded UTF-8 JSON per employee, keyed by id and checked against the version, so a fragment
+// can never outlive the row it was made from. Fragments are written with JsonGenerator.writeRawValue.
+// Single-employee reads fill it; lists reuse whatever fragments are there but never add to it, so a scan can't
+// push the hot set out.
+@Component
+public class EmployeeJsonCache implements MeterBinder {
+
+    private final Cache<Long, Fragment> cache;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeJsonCache(ObjectMapper objectMapper, EmployeeProperties properties) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public SerializableString get(Employee employee) {
+        Fragment fragment = cache.getIfPresent(employee.getId());
+        if (fragment == null || fragment.version() != employee.getVersion()) {
+            fragment = new Fragment(employee.getVersion(), encode(employee));
+            cache.put(employee.getId(), fragment);
+        }
+        return fragment.json();
+    }
+
+    // the fragment for this version if one is cached, or null; a lookup from a scan neither encodes nor caches
+    // anything, and doesn't count towards the entry's hits, so lists can't skew what the cache keeps
+    public SerializableString getIfPresent(Long id, long version) {
+        Fragment fragment = cache.policy().getIfPresentQuietly(id);
+        return fragment != null && fragment.version() == version ? fragment.json() : null;
+    }
+
+    // the shared cached array, not a copy; callers must not modify it
+    public byte[] getBytes(Employee employee) {
+        return get(employee).asUnquotedUTF8();
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private SerializedString encode(Employee employee) {
+        try {
+            SerializedString json = new SerializedString(objectMapper.writeValueAsString(employee));
+            // encode to UTF-8 once here rather than on the first write
+            json.asUnquotedUTF8();
+            return json;
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "employee-json");
+    }
+
+    private record Fragment(long version, SerializedString json) {
+    }
+}
@@ -0,0 +1,65 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Collapses concurrent calls for the same key into one: the first caller runs the supplier and everyone arriving
+// while it runs gets the same result (or exception). Nothing is kept once the call completes, so this bounds
+// staleness to a single in-flight load rather than caching. Joining and leaving only touch the key's map bin.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+        executions.increment();
+        try {
+            V value = supplier.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // conditional, so it can never remove a newer flight that started after a forget
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // callers arriving after this start a new load instead of joining one that may predate a write
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    public long shared() {
+        return shared.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.nerdbyteslns.springboottestingapplication.changes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChange;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChangeFeed;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Ordered log of committed employee writes behind GET /api/employees/changes. It holds at most one entry per
+// employee, the latest, so it compacts itself as it is written; deletes stay as tombstones until they pass the
+// retention. Cursors carry the epoch of this run (like the collection ETag), so after a restart, or once a client
+// has fallen behind entries that were dropped, its cursor is refused and it resyncs from the full list.
+@Slf4j
+@Component
+public class EmployeeChangeLog implements SchedulingConfigurer, MeterBinder, DisposableBean {
+
+    private final EmployeeProperties.Changes properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentSkipListMap<Long, EmployeeChange> entries = new ConcurrentSkipListMap<>();
+    // employee id -> sequence of its entry; guarded by this, as are the writes to sequence and size
+    private final Map<Long, Long> latestByEmployee = new HashMap<>();
+    private long sequence;
+    private volatile int size;
+    // highest sequence already in entries; readers never look past it
+    private volatile long published;
+    // highest sequence dropped without being superseded; a cursor before it may have missed that change
+    private volatile long horizon;
+
+    // the notifier thread only flags subscriptions once a burst of appends has settled into the log; each one then
+    // runs its listener on its own virtual thread, so a subscriber blocked on a slow client holds up nobody else
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService notifier =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("employee-changes").daemon().factory());
+    // at most one task per subscription is ever queued or running, so this is bounded by the subscriber count
+    private final ExecutorService listenerExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("employee-changes-listener-", 0).factory());
+    private final AtomicBoolean notifyPending = new AtomicBoolean();
+
+    public EmployeeChangeLog(EmployeeProperties properties) {
+        this.properties = properties.getChanges();
+    }
+
+    public void created(Employee employee) {
+        record(employee.getId(), EmployeeChange.Type.CREATED, employee.getVersion());
+    }
+
+    public void updated(Employee employee) {
+        record(employee.getId(), EmployeeChange.Type.UPDATED, employee.getVersion());
+    }
+
+    public void deleted(long id) {
+        record(id, EmployeeChange.Type.DELETED, null);
+    }
+
+    // the cursor of the newest change; a client starting now syncs the full list after taking it
+    public String current() {
+        return cursor(published);
+    }
+
+    // changes after the cursor, oldest first; empty when the cursor is not from this run or is behind dropped entries
+    public Optional<EmployeeChangeFeed> since(String cursor, int limit) {
+        OptionalLong after = parse(cursor);
+        long head = published;
+        if (after.isEmpty() || after.getAsLong() > head) {
+            return Optional.empty();
+        }
+        List<EmployeeChange> changes = new ArrayList<>();
+        for (EmployeeChange change : entries.subMap(after.getAsLong(), false, head, true).values()) {
+            if (changes.size() == limit) {
+                break;
+            }
+            changes.add(change);
+        }
+        // checked after the scan, so an entry dropped while we were reading is not silently skipped
+        if (after.getAsLong() < horizon) {
+            return Optional.empty();
+        }
+        String next = changes.size() == limit ? changes.get(limit - 1).getCursor() : cursor(head);
+        return Optional.of(new EmployeeChangeFeed(changes, next));
+    }
+
+    // the listener is called (on another thread, never concurrently with itself) whenever changes may have been
+    // appended; run the result to stop
+    public Runnable subscribe(Runnable listener) {
+        Subscription subscription = new Subscription(listener);
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    // drops tombstones older than the retention
+    public synchronized void compact() {
+        Instant cutoff = Instant.now().minus(properties.getTombstoneRetention());
+        List<Long> expired = new ArrayList<>();
+        entries.forEach((seq, change) -> {
+            if (change.getType() == EmployeeChange.Type.DELETED && !change.getChangedAt().isAfter(cutoff)) {
+                expired.add(seq);
+            }
+        });
+        expired.forEach(this::drop);
+        if (!expired.isEmpty()) {
+            log.debug("Compacted {} employee tombstones out of the change log", expired.size());
+        }
+    }
+
+    // appended once the surrounding transaction commits, so rolled-back writes never show up and a client that
+    // follows a change to the table already finds it there
+    private void record(long id, EmployeeChange.Type type, Long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(id, type, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(id, type, version);
+            }
+        });
+    }
+
+    private synchronized void append(long id, EmployeeChange.Type type, Long version) {
+        long seq = ++sequence;
+        entries.put(seq, new EmployeeChange(cursor(seq), id, type, version, Instant.now()));
+        size++;
+        Long previous = latestByEmployee.put(id, seq);
+        if (previous != null) {
+            entries.remove(previous);
+            size--;
+        }
+        while (size > properties.getMaxSize()) {
+            drop(entries.firstKey());
+        }
+        published = seq;
+        signal();
+    }
+
+    private void drop(long seq) {
+        EmployeeChange change = entries.remove(seq);
+        latestByEmployee.remove(change.getId());
+        size--;
+        horizon = Math.max(horizon, seq);
+    }
+
+    private void signal() {
+        if (subscriptions.isEmpty() || notifier.isShutdown() || !notifyPending.compareAndSet(false, true)) {
+            return;
+        }
+        notifier.execute(() -> {
+            notifyPending.set(false);
+            subscriptions.forEach(Subscription::signal);
+        });
+    }
+
+    private String cursor(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private OptionalLong parse(String cursor) {
+        int separator = cursor.lastIndexOf('-');
+        if (separator < 0 || !cursor.substring(0, separator).equals(epoch)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException ex) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration interval = properties.getCompactionInterval();
+        registrar.addFixedDelayTask(new FixedDelayTask(this::compact, interval, interval));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.changes.size", this, changeLog -> changeLog.size)
+                .description("Entries in the employee change log after compaction")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        notifier.shutdownNow();
+        listenerExecutor.shutdownNow();
+    }
+
+    // signals that arrive while the listener runs are folded into one more run, never a second concurrent one
+    private final class Subscription {
+
+        private final Runnable listener;
+        private final AtomicBoolean signalled = new AtomicBoolean();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Subscription(Runnable listener) {
+            this.listener = listener;
+        }
+
+        void signal() {
+            signalled.set(true);
+            if (running.compareAndSet(false, true)) {
+                try {
+                    listenerExecutor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    // shutting down
+                    running.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                while (signalled.getAndSet(false)) {
+                    try {
+                        listener.run();
+                    } catch (RuntimeException ex) {
+                        log.warn("Employee change listener failed", ex);
+                    }
+                }
+                running.set(false);
+                // a signal that landed after the last check but before running was cleared is picked up here
+            } while (signalled.get() && running.compareAndSet(false, true));
+        }
+    }
+}
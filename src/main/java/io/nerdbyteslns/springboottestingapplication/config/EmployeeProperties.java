@@ -0,0 +1,112 @@
+package io.nerdbyteslns.springboottestingapplication.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee")
+public class EmployeeProperties {
+
+    private Cache cache = new Cache();
+    private Batch batch = new Batch();
+    private Datasource datasource = new Datasource();
+    private WriteBehind writeBehind = new WriteBehind();
+    private EmailFilter emailFilter = new EmailFilter();
+    private Sql sql = new Sql();
+    private Changes changes = new Changes();
+    private Admission admission = new Admission();
+
+    @Data
+    public static class Cache {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Batch {
+        // rows per JDBC batch; also used for hibernate.jdbc.batch_size. Values below 1 are treated as 1
+        private int jdbcBatchSize = 50;
+        // rows per transaction; values below 1 are treated as 1
+        private int commitSize = 1000;
+    }
+
+    @Data
+    public static class Datasource {
+        // after a write, read-only transactions stay on the primary this long so callers see their own changes;
+        // zero sends them to the replica straight away. Only applies when employee.datasource.replica.url is set
+        private Duration readYourWrites = Duration.ZERO;
+    }
+
+    @Data
+    public static class WriteBehind {
+        // creates waiting to be flushed; POST ?async answers 429 beyond this
+        private int capacity = 10_000;
+        // creates written per flush; keep it at or below batch.commit-size so a flush is one transaction
+        private int maxBatchSize = 500;
+        // how long a tracking id can be looked up after its create was flushed; at most capacity outcomes are kept
+        private Duration statusTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class EmailFilter {
+        // sizing for the Bloom filter over existing emails; it grows on rebuild if the table outgrows it
+        private int expectedInsertions = 100_000;
+        private double falsePositiveRate = 0.01;
+        // deleted and renamed emails stay in the filter until the next rebuild
+        private Duration rebuildInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Sql {
+        // statements at least this slow are candidates for the slow-query log
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+        // fraction of slow statements actually logged, so a struggling database doesn't also flood the log
+        private double slowQuerySampleRate = 1.0;
+        // distinct statements tracked; anything beyond is counted under a single "(other)" entry
+        private int maxStatements = 1000;
+    }
+
+    @Data
+    public static class Changes {
+        // entries kept in the change log; the oldest are dropped beyond this and clients behind them must resync
+        private int maxSize = 100_000;
+        // how long a delete stays visible as a tombstone before compaction drops it
+        private Duration tombstoneRetention = Duration.ofHours(24);
+        private Duration compactionInterval = Duration.ofMinutes(5);
+        // GET /api/employees/changes?wait answers with an empty feed if nothing changes for this long
+        private Duration longPollTimeout = Duration.ofSeconds(30);
+        private Duration sseTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Admission {
+        private boolean enabled = true;
+        // sample windows per limit; releases are spread over them by thread so they don't all take one lock.
+        // The limit and in-flight count are shared whatever this is
+        private int stripes = 4;
+        // a window with too many requests slower than their latency threshold multiplies the limit by this
+        private double backoffRatio = 0.9;
+        // latency samples per stripe that are judged together; the limit changes at most once per window, and is
+        // only cut when more than slow-sample-tolerance of them were slow, so an occasional slow request doesn't count
+        private int sampleWindow = 50;
+        private double slowSampleTolerance = 0.1;
+        // sent with the 503 for requests over the limit
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private Limit reads = new Limit(100, 10, 1000, Duration.ofMillis(250));
+        private Limit writes = new Limit(50, 5, 500, Duration.ofMillis(500));
+
+        @Data
+        @AllArgsConstructor
+        @NoArgsConstructor
+        public static class Limit {
+            private int initialLimit;
+            private int minLimit;
+            private int maxLimit;
+            private Duration latencyThreshold;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.nerdbyteslns.springboottestingapplication.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before it marks the transaction read-only, so the lookup has to wait for the
+ * first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final long readYourWritesNanos;
+    private volatile long primaryUntil = System.nanoTime();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWrites) {
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            onWrite();
+            return Route.PRIMARY;
+        }
+        // while the replica may still be catching up on a recent write, keep reads on the primary
+        return System.nanoTime() - primaryUntil < 0 ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private void onWrite() {
+        if (readYourWritesNanos <= 0) {
+            return;
+        }
+        markWrite();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the window has to cover replication of the commit, not just the start of the transaction
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    markWrite();
+                }
+            });
+        }
+    }
+
+    private void markWrite() {
+        primaryUntil = System.nanoTime() + readYourWritesNanos;
+    }
+}
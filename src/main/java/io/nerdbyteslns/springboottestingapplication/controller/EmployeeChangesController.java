@@ -0,0 +1,142 @@
+package io.nerdbyteslns.springboottestingapplication.controller;
+
+import io.nerdbyteslns.springboottestingapplication.changes.EmployeeChangeLog;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChange;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Incremental sync: take a cursor (GET without ?since=), read GET /api/employees once, then follow the changes
+// by polling, long-polling (?wait) or as server-sent events. 410 Gone means the cursor is from before a restart
+// or behind entries the log has dropped, and the client has to start over from the full list.
+@RestController
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangesController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final EmployeeChangeLog changeLog;
+    private final EmployeeProperties.Changes properties;
+
+    @Autowired
+    public EmployeeChangesController(EmployeeChangeLog changeLog, EmployeeProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties.getChanges();
+    }
+
+    @GetMapping(params = "!wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    public EmployeeChangeFeed getChanges(@RequestParam(required = false) String since,
+                                         @RequestParam(defaultValue = "500") int limit) {
+        return feed(since, limit);
+    }
+
+    // answers as soon as there is a change after the cursor, or with an empty feed once the timeout passes
+    @GetMapping(params = "wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<EmployeeChangeFeed> waitForChanges(@RequestParam String since,
+                                                             @RequestParam(defaultValue = "500") int limit) {
+        DeferredResult<EmployeeChangeFeed> result = new DeferredResult<>(properties.getLongPollTimeout().toMillis(),
+                new EmployeeChangeFeed(List.of(), since));
+        // subscribed before the first look, so a change landing in between still wakes the request
+        Runnable unsubscribe = changeLog.subscribe(() -> completeIfChanged(result, since, limit));
+        result.onCompletion(unsubscribe);
+        completeIfChanged(result, since, limit);
+        return result;
+    }
+
+    // the event id is the change's cursor, so a reconnecting EventSource resumes from Last-Event-ID
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+        String cursor = lastEventId != null ? lastEventId : since != null ? since : changeLog.current();
+        ChangeStream stream = new ChangeStream(emitter, cursor);
+        Runnable unsubscribe = changeLog.subscribe(stream::push);
+        emitter.onCompletion(unsubscribe);
+        stream.push();
+        return emitter;
+    }
+
+    private void completeIfChanged(DeferredResult<EmployeeChangeFeed> result, String since, int limit) {
+        try {
+            EmployeeChangeFeed feed = feed(since, limit);
+            if (!feed.getChanges().isEmpty()) {
+                result.setResult(feed);
+            }
+        } catch (ResponseStatusException ex) {
+            result.setErrorResult(ex);
+        }
+    }
+
+    // without a cursor the feed is empty and only hands out the current one
+    private EmployeeChangeFeed feed(String since, int limit) {
+        if (since == null) {
+            return new EmployeeChangeFeed(List.of(), changeLog.current());
+        }
+        return changeLog.since(since, Math.max(1, Math.min(limit, MAX_LIMIT)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.GONE,
+                        "Cursor " + since + " has expired; re-read /api/employees and follow the changes from a new cursor"));
+    }
+
+    // pushes take the lock so the initial catch-up and the listener's pushes never interleave; a ReentrantLock
+    // rather than synchronized, since the listener runs on a virtual thread and send() blocks on the client
+    private final class ChangeStream {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private String cursor;
+        private boolean closed;
+
+        private ChangeStream(SseEmitter emitter, String cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void push() {
+            lock.lock();
+            try {
+                pushLocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void pushLocked() {
+            if (closed) {
+                return;
+            }
+            try {
+                Optional<EmployeeChangeFeed> feed;
+                while ((feed = changeLog.since(cursor, MAX_LIMIT)).isPresent() && !feed.get().getChanges().isEmpty()) {
+                    for (EmployeeChange change : feed.get().getChanges()) {
+                        emitter.send(SseEmitter.event().id(change.getCursor()).name("change").data(change));
+                    }
+                    cursor = feed.get().getCursor();
+                }
+                if (feed.isEmpty()) {
+                    closed = true;
+                    emitter.send(SseEmitter.event().name("resync").data(cursor));
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // the client went away or the emitter already timed out
+                closed = true;
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -1,50 +1,296 @@
 package io.nerdbyteslns.springboottestingapplication.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeJsonCache;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeCreateStatus;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeFieldsPage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.exception.ResourceConflictException;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.queue.EmployeeCreateQueue;
 import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+    // the ids become one IN list (in a locking SELECT and then the DELETE), so a request can't hand the database
+    // an unbounded statement
+    private static final int MAX_DELETE_IDS = 1000;
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final EmployeeJsonCache jsonCache;
+    // serializes list and stream rows that have no cached fragment; they aren't added to jsonCache, so a scan
+    // doesn't evict the single-entity hot set
+    private final ObjectWriter employeeWriter;
+    private final EmployeeCreateQueue createQueue;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper, EmployeeJsonCache jsonCache,
+                              EmployeeCreateQueue createQueue) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.jsonCache = jsonCache;
+        this.employeeWriter = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.createQueue = createQueue;
+    }
+
+    @PostMapping(params = "!async")
+    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EmployeeETags.of(savedEmployee)).body(savedEmployee);
+    }
+
+    // POST /api/employees?async queues the create and answers before it is written; poll the Location for the outcome
+    @PostMapping(params = "async")
+    public ResponseEntity<EmployeeCreateStatus> createEmployeeAsync(@RequestBody Employee employee) {
+        Optional<EmployeeCreateStatus> status = createQueue.submit(employee);
+        if (status.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/employees/pending/" + status.get().getTrackingId()))
+                .body(status.get());
+    }
+
+    @GetMapping("/pending/{trackingId}")
+    public ResponseEntity<EmployeeCreateStatus> getCreateStatus(@PathVariable String trackingId) {
+        return ResponseEntity.of(createQueue.getStatus(trackingId));
+    }
+
+    @PostMapping("/batch")
+    public List<EmployeeBatchResult> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    // streams the whole table as a JSON array, one keyset page at a time, so only a single page is ever in memory
+    // the collection version is read before the data, so a write racing with this read can only make the tag older
+    @GetMapping(params = "!limit")
+    public ResponseEntity<StreamingResponseBody> getAllEmployees(WebRequest request) {
+        if (request.checkNotModified(EmployeeETags.collection(employeeService.getCollectionVersion()))) {
+            return null;
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                Long after = null;
+                do {
+                    EmployeePage page = employeeService.getEmployeesPage(after, STREAM_PAGE_SIZE);
+                    for (Employee employee : page.getContent()) {
+                        writeEmployee(generator, employee);
+                    }
+                    generator.flush();
+                    after = page.getNextCursor();
+                } while (after != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // same JSON shape as EmployeePage
+    @GetMapping(params = "limit")
+    public ResponseEntity<byte[]> getEmployeesPage(@RequestParam(required = false) Long after, @RequestParam int limit,
+                                                   WebRequest request) throws IOException {
+        if (request.checkNotModified(EmployeeETags.collection(employeeService.getCollectionVersion()))) {
+            return null;
+        }
+        EmployeePage page = employeeService.getEmployeesPage(after, limit);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            for (Employee employee : page.getContent()) {
+                writeEmployee(generator, employee);
+            }
+            generator.writeEndArray();
+            generator.writeObjectField("nextCursor", page.getNextCursor());
+            generator.writeEndObject();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body.toByteArray());
+    }
+
+    // ?fields=id,email selects and serializes only those columns; id is selected regardless, as the cursor
+    @GetMapping(params = {"!limit", "fields"})
+    public ResponseEntity<StreamingResponseBody> getAllEmployeeFields(@RequestParam String fields, WebRequest request) {
+        Set<EmployeeField> selected = parseFields(fields);
+        if (request.checkNotModified(EmployeeETags.collection(employeeService.getCollectionVersion()))) {
+            return null;
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                Long after = null;
+                do {
+                    EmployeeFieldsPage page = employeeService.getEmployeeFieldsPage(after, STREAM_PAGE_SIZE, selected);
+                    for (Map<String, Object> employee : page.getContent()) {
+                        generator.writeObject(employee);
+                    }
+                    generator.flush();
+                    after = page.getNextCursor();
+                } while (after != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
-    @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    @GetMapping(params = {"limit", "fields"})
+    public ResponseEntity<EmployeeFieldsPage> getEmployeeFieldsPage(@RequestParam(required = false) Long after,
+                                                                    @RequestParam int limit, @RequestParam String fields,
+                                                                    WebRequest request) {
+        Set<EmployeeField> selected = parseFields(fields);
+        if (request.checkNotModified(EmployeeETags.collection(employeeService.getCollectionVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(employeeService.getEmployeeFieldsPage(after, limit, selected));
     }
 
-    @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    @GetMapping("/by-name")
+    public List<EmployeeNameView> getEmployeesByName(@RequestParam String firstName, @RequestParam String lastName,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return employeeService.findEmployeesByName(firstName, lastName, page, size);
     }
 
+    @GetMapping("/by-email")
+    public ResponseEntity<Employee> getEmployeeByEmail(@RequestParam String email) {
+        return employeeService.getEmployeeByEmail(email)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeETags.of(employee)).body(employee))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // typeahead over first name, last name and email, served from memory
+    @GetMapping("/search")
+    public List<EmployeeSearchResult> searchEmployees(@RequestParam String prefix,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return employeeService.searchEmployees(prefix, limit);
+    }
+
+    // the lookup is served by the employee cache, so a matching If-None-Match costs neither a query nor serialization
     @GetMapping("/{id}")
-    public Employee getEmployeeById(@PathVariable Long id) {
-        return employeeService.getEmployeeById(id).orElse(null);
+    public ResponseEntity<byte[]> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
+        if (employee.isEmpty() || request.checkNotModified(EmployeeETags.of(employee.get()))) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(jsonCache.getBytes(employee.get()));
+    }
+
+    // the row comes from the employee cache as usual, so narrowing it to ?fields= only trims the response
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(@PathVariable Long id, @RequestParam String fields,
+                                                                     WebRequest request) {
+        Set<EmployeeField> selected = parseFields(fields);
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
+        if (employee.isEmpty() || request.checkNotModified(EmployeeETags.of(employee.get()))) {
+            return null;
+        }
+        return ResponseEntity.ok(EmployeeField.select(employee.get(), selected));
     }
 
+    // If-Match takes precedence over the version in the body; a stale tag is 412 rather than 409
     @PutMapping("/{id}")
-    public Employee updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         employee.setId(id);
-        return employeeService.updateEmployee(employee);
+        OptionalLong expectedVersion = expectedVersion(ifMatch, id);
+        expectedVersion.ifPresent(employee::setVersion);
+        try {
+            Employee updatedEmployee = employeeService.updateEmployee(employee);
+            return ResponseEntity.ok().eTag(EmployeeETags.of(updatedEmployee)).body(updatedEmployee);
+        } catch (ResourceConflictException ex) {
+            throw expectedVersion.isPresent() ? preconditionFailed(ex) : ex;
+        }
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteEmployee(@PathVariable Long id) {
-        employeeService.deleteEmployee(id);
+    public void deleteEmployee(@PathVariable Long id,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OptionalLong expectedVersion = expectedVersion(ifMatch, id);
+        if (expectedVersion.isEmpty()) {
+            employeeService.deleteEmployee(id);
+            return;
+        }
+        try {
+            employeeService.deleteEmployee(id, expectedVersion.getAsLong());
+        } catch (ResourceConflictException ex) {
+            throw preconditionFailed(ex);
+        }
+    }
+
+    // DELETE /api/employees?ids=1,2,3 removes the existing ids in one statement and returns how many rows went
+    @DeleteMapping(params = "ids")
+    public int deleteEmployees(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_DELETE_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_DELETE_IDS + " ids can be deleted per request, got " + ids.size());
+        }
+        return employeeService.deleteEmployees(ids);
+    }
+
+    // concatenates the cached fragment when there is one for this version; a miss is serialized and not cached
+    private void writeEmployee(JsonGenerator generator, Employee employee) throws IOException {
+        SerializableString json = jsonCache.getIfPresent(employee.getId(), employee.getVersion());
+        if (json != null) {
+            generator.writeRawValue(json);
+        } else {
+            employeeWriter.writeValue(generator, employee);
+        }
+    }
+
+    private static Set<EmployeeField> parseFields(String fields) {
+        try {
+            return EmployeeField.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    // empty when there is no If-Match or it is "*", i.e. no version precondition beyond existence
+    private static OptionalLong expectedVersion(String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return OptionalLong.empty();
+        }
+        OptionalLong version = EmployeeETags.matchedVersion(ifMatch, id);
+        if (version.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not name a version of employee " + id);
+        }
+        return version;
+    }
+
+    private static ResponseStatusException preconditionFailed(ResourceConflictException ex) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), ex);
     }
 }
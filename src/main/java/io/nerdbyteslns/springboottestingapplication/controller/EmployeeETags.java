@@ -0,0 +1,40 @@
+package io.nerdbyteslns.springboottestingapplication.controller;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+
+import java.util.OptionalLong;
+
+// Strong ETags: "<id>-<version>" for a single employee, "c-<epoch>-<changes>" for the collection.
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String of(Employee employee) {
+        return of(employee.getId(), employee.getVersion());
+    }
+
+    static String of(long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String collection(String collectionVersion) {
+        return "\"c-" + collectionVersion + "\"";
+    }
+
+    // the version named by an If-Match header for this id; empty if no strong tag in the list refers to it
+    static OptionalLong matchedVersion(String ifMatch, long id) {
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.strip();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return OptionalLong.of(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException ex) {
+                    // not one of ours; keep looking
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+}
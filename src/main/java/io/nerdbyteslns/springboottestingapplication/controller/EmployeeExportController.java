@@ -0,0 +1,114 @@
+package io.nerdbyteslns.springboottestingapplication.controller;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Full-table dump for downstream systems. Rows are written as the database cursor produces them,
+// so memory use does not depend on the table size.
+@RestController
+@RequestMapping("/api/employees/export")
+public class EmployeeExportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    // rows are serialized directly rather than through EmployeeJsonCache, which would fill it with the whole table
+    private final ObjectWriter employeeWriter;
+
+    @Autowired
+    public EmployeeExportController(EmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.employeeWriter = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // content negotiation (Accept q-values included) picks between the two; */* or no Accept gets NDJSON, which
+    // Spring ranks ahead of text/csv when both match equally
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsNdjson() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(this::writeNdjson);
+    }
+
+    @GetMapping(produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsCsv() {
+        return ResponseEntity.ok().contentType(TEXT_CSV).body(this::writeCsv);
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            export(employee -> {
+                employeeWriter.writeValue(generator, employee);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,firstName,lastName,email\n");
+        export(employee -> {
+            writer.write(Long.toString(employee.getId()));
+            writer.write(',');
+            writer.write(csvField(employee.getFirstName()));
+            writer.write(',');
+            writer.write(csvField(employee.getLastName()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmail()));
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    private void export(EmployeeWriter employeeWriter) throws IOException {
+        try {
+            employeeService.exportEmployees(employee -> {
+                try {
+                    employeeWriter.write(employee);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface EmployeeWriter {
+        void write(Employee employee) throws IOException;
+    }
+}
@@ -0,0 +1,31 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeBatchResult {
+    private int index;
+    private Status status;
+    private Long id;
+    private String email;
+    private String message;
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    public static EmployeeBatchResult created(int index, Employee employee) {
+        return new EmployeeBatchResult(index, Status.CREATED, employee.getId(), employee.getEmail(), null);
+    }
+
+    public static EmployeeBatchResult rejected(int index, Status status, Employee employee, String message) {
+        return new EmployeeBatchResult(index, status, null, employee.getEmail(), message);
+    }
+}
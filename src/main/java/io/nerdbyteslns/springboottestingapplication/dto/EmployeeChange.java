@@ -0,0 +1,24 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+    // pass as ?since= (or Last-Event-ID) to receive only the changes after this one
+    private String cursor;
+    private long id;
+    private Type type;
+    // the employee's version after the change; null for a delete
+    private Long version;
+    private Instant changedAt;
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,16 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangeFeed {
+    private List<EmployeeChange> changes;
+    // ?since= for the next call; unchanged when there was nothing new
+    private String cursor;
+}
@@ -0,0 +1,32 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeCreateStatus {
+    private String trackingId;
+    private Status status;
+    private Long id;
+    private String email;
+    private String message;
+
+    public enum Status {
+        PENDING, CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    public static EmployeeCreateStatus pending(String trackingId, Employee employee) {
+        return new EmployeeCreateStatus(trackingId, Status.PENDING, null, employee.getEmail(), null);
+    }
+
+    public static EmployeeCreateStatus of(String trackingId, EmployeeBatchResult result) {
+        return new EmployeeCreateStatus(trackingId, Status.valueOf(result.getStatus().name()), result.getId(),
+                result.getEmail(), result.getMessage());
+    }
+}
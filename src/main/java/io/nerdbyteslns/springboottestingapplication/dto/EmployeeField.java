@@ -0,0 +1,52 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// the properties a client may pick with ?fields=; the property name is both the JPQL path and the JSON key
+public enum EmployeeField {
+    ID("id"), FIRST_NAME("firstName"), LAST_NAME("lastName"), EMAIL("email"), VERSION("version");
+
+    private final String property;
+
+    EmployeeField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object valueOf(Employee employee) {
+        return switch (this) {
+            case ID -> employee.getId();
+            case FIRST_NAME -> employee.getFirstName();
+            case LAST_NAME -> employee.getLastName();
+            case EMAIL -> employee.getEmail();
+            case VERSION -> employee.getVersion();
+        };
+    }
+
+    // parses a comma-separated list such as "id,email"; unknown or missing names are rejected
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String property = name.strip();
+            parsed.add(Arrays.stream(values()).filter(field -> field.property.equals(property)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown employee field: '" + property + "'")));
+        }
+        return parsed;
+    }
+
+    // the requested fields of an employee in declaration order, keyed by property
+    public static Map<String, Object> select(Employee employee, Set<EmployeeField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field.property, field.valueOf(employee)));
+        return values;
+    }
+}
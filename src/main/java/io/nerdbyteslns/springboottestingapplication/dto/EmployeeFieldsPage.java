@@ -0,0 +1,18 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// an EmployeePage restricted to the ?fields= a client asked for, one property map per employee
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFieldsPage {
+    private List<Map<String, Object>> content;
+    // id to pass as ?after= for the next page, null on the last page
+    private Long nextCursor;
+}
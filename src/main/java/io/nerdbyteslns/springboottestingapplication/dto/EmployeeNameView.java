@@ -0,0 +1,9 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+// interface projection for name lookups: selects only these columns and skips entity hydration
+public interface EmployeeNameView {
+    Long getId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+}
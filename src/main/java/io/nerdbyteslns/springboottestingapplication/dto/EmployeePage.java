@@ -0,0 +1,17 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+    private List<Employee> content;
+    // id to pass as ?after= for the next page, null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,15 @@
+package io.nerdbyteslns.springboottestingapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSearchResult {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
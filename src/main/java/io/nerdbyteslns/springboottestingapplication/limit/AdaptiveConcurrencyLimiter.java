@@ -0,0 +1,118 @@
+package io.nerdbyteslns.springboottestingapplication.limit;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD concurrency limit, judged per window of latency samples. Each request in a window that finished within the
+// latency threshold while the limit was at least half used adds one to the limit; but when more than the tolerated
+// fraction of the window was slow, the limit is cut by the backoff ratio instead, so a few inherently slow requests
+// (a large page, say) don't drag it down. Latency climbs before throughput drops when the database slows down, so
+// the limit shrinks towards what it can still serve and the excess is refused rather than queued.
+// There is one limit and one in-flight count, each updated with a single CAS. Only the samples are striped: a
+// release adds to one of a few windows, picked by thread, and each full window applies its verdict to the shared
+// limit, so the limit is written once per window rather than once per request.
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Window[] windows;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int sampleWindow;
+    private final double slowSampleTolerance;
+
+    public AdaptiveConcurrencyLimiter(EmployeeProperties.Admission.Limit limit, EmployeeProperties.Admission admission,
+                                      int stripes) {
+        this.minLimit = limit.getMinLimit();
+        this.maxLimit = limit.getMaxLimit();
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, limit.getInitialLimit())));
+        this.windows = new Window[Math.max(1, stripes)];
+        for (int i = 0; i < windows.length; i++) {
+            this.windows[i] = new Window();
+        }
+        this.latencyThresholdNanos = limit.getLatencyThreshold().toNanos();
+        this.backoffRatio = admission.getBackoffRatio();
+        this.sampleWindow = Math.max(1, admission.getSampleWindow());
+        this.slowSampleTolerance = admission.getSlowSampleTolerance();
+    }
+
+    // empty when the limit is reached
+    public Optional<Permit> tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return Optional.of(new Permit(System.nanoTime()));
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void release(long latencyNanos, boolean sample) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (sample) {
+            Window window = windows[(int) (Thread.currentThread().threadId() % windows.length)];
+            // an idle limiter doesn't learn that more would be fine, so only a busy one grows
+            window.add(latencyNanos > latencyThresholdNanos, wasInFlight * 2 >= limit.get());
+        }
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // returns the permit and lets the request's latency adjust the limit
+        public void release() {
+            AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startNanos, true);
+        }
+
+        // returns the permit without a latency sample, e.g. for a request that went async
+        public void releaseWithoutSample() {
+            AdaptiveConcurrencyLimiter.this.release(0, false);
+        }
+    }
+
+    private final class Window {
+
+        // guarded by the window's lock
+        private int samples;
+        private int slowSamples;
+        private int fastBusySamples;
+
+        synchronized void add(boolean slow, boolean busy) {
+            samples++;
+            if (slow) {
+                slowSamples++;
+            } else if (busy) {
+                fastBusySamples++;
+            }
+            if (samples < sampleWindow) {
+                return;
+            }
+            boolean cut = slowSamples > samples * slowSampleTolerance;
+            int growth = fastBusySamples;
+            samples = 0;
+            slowSamples = 0;
+            fastBusySamples = 0;
+            limit.updateAndGet(current -> cut
+                    ? Math.max(minLimit, (int) (current * backoffRatio))
+                    : Math.min(maxLimit, current + growth));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.nerdbyteslns.springboottestingapplication.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission control for /api/employees. Reads (GET, HEAD) and writes each have an adaptive concurrency limit, and a
+// request over it is answered 503 with Retry-After straight away instead of waiting for a thread or a connection.
+// Only the synchronous part of a request holds a permit, so long polls and streamed responses don't pin one.
+@Component
+@ConditionalOnProperty(prefix = "employee.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String API_PATH = "/api/employees";
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+    private final String retryAfter;
+    private final LongAdder readsRejected = new LongAdder();
+    private final LongAdder writesRejected = new LongAdder();
+
+    public AdmissionControlFilter(EmployeeProperties properties) {
+        EmployeeProperties.Admission admission = properties.getAdmission();
+        this.reads = new AdaptiveConcurrencyLimiter(admission.getReads(), admission, admission.getStripes());
+        this.writes = new AdaptiveConcurrencyLimiter(admission.getWrites(), admission, admission.getStripes());
+        this.retryAfter = Long.toString(Math.max(1, admission.getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = (read ? reads : writes).tryAcquire();
+        if (permit.isEmpty()) {
+            (read ? readsRejected : writesRejected).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                permit.get().releaseWithoutSample();
+            } else {
+                permit.get().release();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "read", reads, readsRejected);
+        bind(registry, "write", writes, writesRejected);
+    }
+
+    private static void bind(MeterRegistry registry, String type, AdaptiveConcurrencyLimiter limiter, LongAdder rejected) {
+        Gauge.builder("employee.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .tag("type", type)
+                .description("Current adaptive concurrency limit for Employee API requests")
+                .register(registry);
+        Gauge.builder("employee.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .tag("type", type)
+                .register(registry);
+        FunctionCounter.builder("employee.admission.rejected", rejected, LongAdder::sum)
+                .tag("type", type)
+                .description("Employee API requests refused with 503 because the concurrency limit was reached")
+                .register(registry);
+    }
+}
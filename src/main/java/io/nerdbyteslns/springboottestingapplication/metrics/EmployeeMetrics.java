@@ -0,0 +1,44 @@
+package io.nerdbyteslns.springboottestingapplication.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.nerdbyteslns.springboottestingapplication.cache.SingleFlight;
+import org.springframework.stereotype.Component;
+
+// Business outcome counters, published as employee.outcomes{outcome, operation}, and lookup coalescing counters.
+@Component
+public class EmployeeMetrics {
+
+    private static final String OUTCOMES = "employee.outcomes";
+    private static final String SINGLE_FLIGHT = "employee.lookups.coalesced";
+
+    private final MeterRegistry registry;
+
+    public EmployeeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void notFound(String operation) {
+        registry.counter(OUTCOMES, "outcome", "not_found", "operation", operation).increment();
+    }
+
+    public void duplicate(String operation) {
+        registry.counter(OUTCOMES, "outcome", "duplicate", "operation", operation).increment();
+    }
+
+    public void conflict(String operation) {
+        registry.counter(OUTCOMES, "outcome", "conflict", "operation", operation).increment();
+    }
+
+    // employee.lookups.coalesced{lookup, result}: shared / (executed + shared) is the fraction of loads saved
+    public void monitor(String lookup, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder(SINGLE_FLIGHT, singleFlight, SingleFlight::executions)
+                .tags("lookup", lookup, "result", "executed")
+                .description("Employee lookups that ran themselves, against the cache or the database")
+                .register(registry);
+        FunctionCounter.builder(SINGLE_FLIGHT, singleFlight, SingleFlight::shared)
+                .tags("lookup", lookup, "result", "shared")
+                .description("Employee lookups that waited for a concurrent identical lookup instead of querying")
+                .register(registry);
+    }
+}
@@ -5,16 +5,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+// second-level cached; the native UPDATE/DELETE paths evict only the written rows on commit, and full-table reads skip the cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employees_email", columnNames = "email"),
+        indexes = @Index(name = "idx_employees_last_first", columnList = "last_name, first_name"))
 public class Employee {
+    // pooled sequence ids let Hibernate batch inserts, which IDENTITY columns rule out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private long id;
     @Column(name = "first_name", nullable = false)
     private String firstName;
@@ -22,4 +31,7 @@ public class Employee {
     private String lastName;
     @Column(nullable = false)
     private String email;
+    // primitive so Spring Data still decides isNew() from the id
+    @Version
+    private long version;
 }
@@ -0,0 +1,178 @@
+package io.nerdbyteslns.springboottestingapplication.queue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeCreateStatus;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind path for POST /api/employees?async: creates wait on a bounded queue and a single flusher thread
+// hands whatever has accumulated to saveEmployees, so many requests share one transaction and one JDBC batch.
+// Duplicate emails are caught there the same way as for POST /batch, both within a flush and against the table.
+@Slf4j
+@Component
+public class EmployeeCreateQueue implements SmartLifecycle, MeterBinder {
+
+    private record PendingCreate(String trackingId, Employee employee) {
+    }
+
+    private final EmployeeService employeeService;
+    private final BlockingQueue<PendingCreate> queue;
+    // accepted creates not yet written; bounded by the queue plus the batch being flushed, so never evicted
+    private final Map<String, EmployeeCreateStatus> pending = new ConcurrentHashMap<>();
+    private final Cache<String, EmployeeCreateStatus> outcomes;
+    private final int maxBatchSize;
+    private volatile Thread flusher;
+    private volatile boolean running;
+    private final LongAdder rejected = new LongAdder();
+
+    public EmployeeCreateQueue(EmployeeService employeeService, EmployeeProperties properties) {
+        EmployeeProperties.WriteBehind writeBehind = properties.getWriteBehind();
+        this.employeeService = employeeService;
+        this.queue = new ArrayBlockingQueue<>(writeBehind.getCapacity());
+        // under a sustained burst outcomes are evicted before their ttl rather than the cache growing without bound
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(writeBehind.getCapacity())
+                .expireAfterWrite(writeBehind.getStatusTtl())
+                .build();
+        this.maxBatchSize = writeBehind.getMaxBatchSize();
+    }
+
+    // empty when the queue is full
+    public Optional<EmployeeCreateStatus> submit(Employee employee) {
+        String trackingId = UUID.randomUUID().toString();
+        EmployeeCreateStatus status = EmployeeCreateStatus.pending(trackingId, employee);
+        // recorded before the offer so the flusher can't finish the create before it is pending
+        pending.put(trackingId, status);
+        if (!queue.offer(new PendingCreate(trackingId, employee))) {
+            pending.remove(trackingId);
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(status);
+    }
+
+    // pending is checked first: an outcome is recorded before the pending entry goes, so one of the two is always seen
+    public Optional<EmployeeCreateStatus> getStatus(String trackingId) {
+        EmployeeCreateStatus status = pending.get(trackingId);
+        return Optional.ofNullable(status != null ? status : outcomes.getIfPresent(trackingId));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    // writes up to maxBatchSize queued creates and returns how many were taken off the queue
+    public int flush() {
+        List<PendingCreate> batch = new ArrayList<>();
+        queue.drainTo(batch, maxBatchSize);
+        write(batch);
+        return batch.size();
+    }
+
+    private void run() {
+        while (running) {
+            PendingCreate first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first != null) {
+                // whatever piled up while the previous flush was committing goes out with it
+                List<PendingCreate> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            }
+        }
+    }
+
+    private void write(List<PendingCreate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<EmployeeBatchResult> results = employeeService.saveEmployees(batch.stream().map(PendingCreate::employee).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                finish(EmployeeCreateStatus.of(batch.get(i).trackingId(), results.get(i)));
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to write {} queued employee creates", batch.size(), ex);
+            for (PendingCreate create : batch) {
+                finish(new EmployeeCreateStatus(create.trackingId(), EmployeeCreateStatus.Status.FAILED, null,
+                        create.employee().getEmail(), ex.getMessage()));
+            }
+        }
+    }
+
+    private void finish(EmployeeCreateStatus outcome) {
+        outcomes.put(outcome.getTrackingId(), outcome);
+        pending.remove(outcome.getTrackingId());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("employee-write-behind").daemon().start(this::run);
+    }
+
+    // stops taking new work off the queue, then flushes what is left so accepted creates are not lost on shutdown
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        while (!queue.isEmpty()) {
+            flush();
+        }
+    }
+
+    // below the web server's phases: started before it takes requests and stopped only once it no longer does
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.write-behind.queue.size", queue, BlockingQueue::size)
+                .description("Employee creates accepted with ?async and not yet written")
+                .register(registry);
+        FunctionCounter.builder("employee.write-behind.rejected", rejected, LongAdder::sum)
+                .description("Employee creates refused with 429 because the write-behind queue was full")
+                .register(registry);
+    }
+}
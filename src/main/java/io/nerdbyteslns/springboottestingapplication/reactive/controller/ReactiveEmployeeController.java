@@ -0,0 +1,102 @@
+package io.nerdbyteslns.springboottestingapplication.reactive.controller;
+
+import io.nerdbyteslns.springboottestingapplication.reactive.model.ReactiveEmployee;
+import io.nerdbyteslns.springboottestingapplication.reactive.repository.ReactiveEmployeeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same routes as the servlet EmployeeController, but every handler returns without blocking the event loop.
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeController(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ReactiveEmployee> createEmployee(@RequestBody ReactiveEmployee employee) {
+        employee.setId(null);
+        employee.setVersion(null);
+        return employeeRepository.save(employee)
+                .onErrorMap(DataIntegrityViolationException.class, ex -> duplicateEmail(employee, ex));
+    }
+
+    // streamed row by row; demand from the client connection propagates back to the R2DBC cursor
+    @GetMapping(params = "!limit", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveEmployee> getAllEmployees() {
+        return employeeRepository.findAllByOrderByIdAsc();
+    }
+
+    @GetMapping(params = "limit")
+    public Flux<ReactiveEmployee> getEmployeesPage(@RequestParam(required = false) Long after, @RequestParam int limit) {
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.of(0, pageSize(limit)));
+    }
+
+    @GetMapping("/by-name")
+    public Flux<ReactiveEmployee> getEmployeesByName(@RequestParam String firstName, @RequestParam String lastName,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return employeeRepository.findByLastNameAndFirstNameOrderByIdAsc(lastName, firstName,
+                PageRequest.of(Math.max(page, 0), pageSize(size)));
+    }
+
+    @GetMapping("/by-email")
+    public Mono<ReactiveEmployee> getEmployeeByEmail(@RequestParam String email) {
+        return employeeRepository.findByEmail(email);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ReactiveEmployee> getEmployeeById(@PathVariable Long id) {
+        return employeeRepository.findById(id);
+    }
+
+    // a versioned save is a single UPDATE ... WHERE id = ? AND version = ?; only a miss pays for the existence check
+    @PutMapping("/{id}")
+    public Mono<ReactiveEmployee> updateEmployee(@PathVariable Long id, @RequestBody ReactiveEmployee employee) {
+        employee.setId(id);
+        if (employee.getVersion() == null) {
+            employee.setVersion(0L);
+        }
+        return employeeRepository.save(employee)
+                .onErrorMap(DataIntegrityViolationException.class, ex -> duplicateEmail(employee, ex))
+                .onErrorResume(OptimisticLockingFailureException.class, ex -> employeeRepository.existsById(id)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new ResponseStatusException(HttpStatus.CONFLICT, "Employee with id " + id
+                                        + " was modified concurrently; version " + employee.getVersion() + " is stale")
+                                : notFound(id))));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable Long id) {
+        return employeeRepository.deleteEmployeeById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(notFound(id)) : Mono.empty());
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static ResponseStatusException notFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee with id " + id + " not found");
+    }
+
+    private static ResponseStatusException duplicateEmail(ReactiveEmployee employee, DataIntegrityViolationException ex) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Employee with email " + employee.getEmail() + " already exists", ex);
+    }
+}
@@ -0,0 +1,25 @@
+package io.nerdbyteslns.springboottestingapplication.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the employees table; columns follow the default snake_case naming (first_name, ...).
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("employees")
+public class ReactiveEmployee {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    @Version
+    private Long version;
+}
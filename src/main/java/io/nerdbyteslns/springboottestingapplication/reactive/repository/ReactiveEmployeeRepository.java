@@ -0,0 +1,47 @@
+package io.nerdbyteslns.springboottestingapplication.reactive.repository;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.reactive.model.ReactiveEmployee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeRepository extends R2dbcRepository<ReactiveEmployee, Long> {
+    Mono<ReactiveEmployee> findByEmail(String email);
+
+    // rows are emitted as the driver reads them, at the pace the subscriber requests
+    Flux<ReactiveEmployee> findAllByOrderByIdAsc();
+
+    Flux<ReactiveEmployee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    Flux<ReactiveEmployee> findByLastNameAndFirstNameOrderByIdAsc(String lastName, String firstName, Pageable pageable);
+
+    // R2DBC has no JPQL, so the JPA repository's JPQL and native name lookups are both plain SQL here.
+    // Names are not unique, so these return every match rather than one row
+
+    // using indexed parameters; H2 and Postgres bind them as $1, $2, ...
+    @Query("SELECT * FROM employees WHERE first_name = $1 AND last_name = $2 ORDER BY id")
+    Flux<ReactiveEmployee> findByNativeSQL(String firstName, String lastName);
+
+    // using named parameters
+    @Query("SELECT * FROM employees WHERE first_name = :firstName AND last_name = :lastName")
+    Flux<ReactiveEmployee> findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // projections: string queries don't apply a Pageable, so the page is bound as LIMIT and OFFSET
+    @Query("SELECT id, first_name, last_name, email FROM employees WHERE first_name = $1 AND last_name = $2 "
+            + "ORDER BY id LIMIT $3 OFFSET $4")
+    Flux<EmployeeNameView> findNamesByNativeSQL(String firstName, String lastName, int limit, long offset);
+
+    @Query("SELECT id, first_name, last_name, email FROM employees WHERE first_name = :firstName AND last_name = :lastName "
+            + "ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<EmployeeNameView> findNamesByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName,
+                                                           @Param("limit") int limit, @Param("offset") long offset);
+
+    @Modifying
+    @Query("DELETE FROM employees WHERE id = :id")
+    Mono<Integer> deleteEmployeeById(@Param("id") long id);
+}
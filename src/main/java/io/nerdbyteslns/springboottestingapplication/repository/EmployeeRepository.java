@@ -1,17 +1,64 @@
 package io.nerdbyteslns.springboottestingapplication.repository;
 
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    // Query space the native writes below declare instead of the employees table. Hibernate evicts every entity
+    // region whose table a bulk statement touches, so a JPQL UPDATE/DELETE would empty the whole employees region;
+    // the service evicts just the written rows (and the cached queries) after commit via evictFromSecondLevelCache
+    String WRITE_SPACE = "employee_writes";
+
+    // query-cached: repeat lookups resolve the id from the query cache and the row from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmail(String email);
 
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // keyset pagination: seeks past the last seen id instead of using OFFSET. Used to walk the whole table (lists,
+    // index loaders), so the rows it reads bypass the second-level cache instead of displacing the hot entries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    // optimistic-locked update in one statement; 0 rows means the id is unknown or the version is stale
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = WRITE_SPACE))
+    @Query(value = "UPDATE employees SET first_name = :firstName, last_name = :lastName, email = :email, "
+            + "version = version + 1 WHERE id = :id AND version = :version", nativeQuery = true)
+    int updateIfVersionMatches(@Param("id") long id, @Param("version") long version, @Param("firstName") String firstName,
+                               @Param("lastName") String lastName, @Param("email") String email);
+
+    // single-statement deletes skip the load-then-remove that deleteById and derived deleteBy methods do
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = WRITE_SPACE))
+    @Query(value = "DELETE FROM employees WHERE id = :id", nativeQuery = true)
+    int deleteEmployeeById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = WRITE_SPACE))
+    @Query(value = "DELETE FROM employees WHERE id = :id AND version = :version", nativeQuery = true)
+    int deleteEmployeeByIdAndVersion(@Param("id") long id, @Param("version") long version);
+
     // using indexed parameters
     @Query("SELECT e FROM Employee e WHERE e.firstName = ?1 AND e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
@@ -25,4 +72,23 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     @Query(value = "SELECT * FROM employees WHERE first_name = :firstName AND last_name = :lastName", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // names are not unique, so these return pages; all of them are served by idx_employees_last_first
+    List<Employee> findByLastNameAndFirstNameOrderByIdAsc(String lastName, String firstName, Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.email AS email FROM Employee e "
+            + "WHERE e.firstName = ?1 AND e.lastName = ?2 ORDER BY e.id")
+    List<EmployeeNameView> findNamesByJPQL(String firstName, String lastName, Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.email AS email FROM Employee e "
+            + "WHERE e.firstName = :firstName AND e.lastName = :lastName ORDER BY e.id")
+    List<EmployeeNameView> findNamesByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
+
+    @Query(value = "SELECT id, first_name AS firstName, last_name AS lastName, email FROM employees "
+            + "WHERE first_name = ?1 AND last_name = ?2 ORDER BY id", nativeQuery = true)
+    List<EmployeeNameView> findNamesByNativeSQL(String firstName, String lastName, Pageable pageable);
+
+    @Query(value = "SELECT id, first_name AS firstName, last_name AS lastName, email FROM employees "
+            + "WHERE first_name = :firstName AND last_name = :lastName ORDER BY id", nativeQuery = true)
+    List<EmployeeNameView> findNamesByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
 }
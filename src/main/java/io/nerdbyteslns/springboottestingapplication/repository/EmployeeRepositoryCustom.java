@@ -0,0 +1,31 @@
+package io.nerdbyteslns.springboottestingapplication.repository;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface EmployeeRepositoryCustom {
+    // persists new employees in JDBC batches of batchSize, flushing and clearing the persistence context between batches
+    void persistAll(List<Employee> employees, int batchSize);
+
+    // drops an entity from the persistence context once it has been consumed, e.g. while streaming
+    void detach(Employee employee);
+
+    // all employees in id order, bypassing the second-level cache; must be consumed and closed inside a transaction
+    Stream<Employee> streamAll();
+
+    // keyset page selecting only the given columns plus id, as tuples aliased by property name
+    List<Tuple> findFieldsByIdGreaterThan(long id, Set<EmployeeField> fields, int limit);
+
+    // deletes the employees with the given ids in one statement and returns the ids that existed and were removed
+    List<Long> deleteEmployeesByIds(Collection<Long> ids);
+
+    // drops the given employees, and every cached query result, from the second-level cache; called after the
+    // native writes commit, since those don't evict anything themselves
+    void evictFromSecondLevelCache(Collection<Long> ids);
+}
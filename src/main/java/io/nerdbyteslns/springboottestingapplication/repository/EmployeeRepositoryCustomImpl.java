@@ -0,0 +1,94 @@
+package io.nerdbyteslns.springboottestingapplication.repository;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void persistAll(List<Employee> employees, int batchSize) {
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public void detach(Employee employee) {
+        entityManager.detach(employee);
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        // a scrolled result ignores the query's cache mode, so the session's is switched for as long as the stream is open
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        // the fetch size keeps the driver from buffering the whole result
+        return entityManager.createQuery("SELECT e FROM Employee e ORDER BY e.id", Employee.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream()
+                .onClose(() -> session.setCacheMode(cacheMode));
+    }
+
+    @Override
+    public List<Tuple> findFieldsByIdGreaterThan(long id, Set<EmployeeField> fields, int limit) {
+        // the select list comes from the EmployeeField whitelist, never from raw client input
+        String select = Stream.concat(Stream.of(EmployeeField.ID), fields.stream()).distinct()
+                .map(field -> "e." + field.getProperty() + " AS " + field.getProperty())
+                .collect(Collectors.joining(", "));
+        return entityManager.createQuery("SELECT " + select + " FROM Employee e WHERE e.id > :id ORDER BY e.id", Tuple.class)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteEmployeesByIds(Collection<Long> ids) {
+        entityManager.flush();
+        // the matching rows are locked first, so the DELETE removes exactly the ids returned
+        List<Long> existing = entityManager.createNativeQuery("SELECT id FROM employees WHERE id IN (:ids) FOR UPDATE", Long.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        if (!existing.isEmpty()) {
+            entityManager.createNativeQuery("DELETE FROM employees WHERE id IN (:ids)")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace(EmployeeRepository.WRITE_SPACE)
+                    .setParameter("ids", existing)
+                    .executeUpdate();
+            entityManager.clear();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evictFromSecondLevelCache(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        ids.forEach(id -> cache.evictEntityData(Employee.class, id));
+        cache.evictDefaultQueryRegion();
+    }
+}
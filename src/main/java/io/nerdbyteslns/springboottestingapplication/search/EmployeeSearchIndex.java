@@ -0,0 +1,256 @@
+package io.nerdbyteslns.springboottestingapplication.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-process typeahead index over first name, last name, "first last" and email.
+// The (term, id) pairs are kept sorted in immutable blocks of parallel String/long arrays, so a prefix lookup is a
+// binary search plus a forward scan, and an entry costs two array slots rather than a map node and a composite key.
+// Writers are serialised and replace only the blocks they touch; readers work on whichever block array they saw.
+@Component
+public class EmployeeSearchIndex implements MeterBinder {
+
+    // a block that grows past MAX_BLOCK_SIZE entries is split into blocks of about BLOCK_SIZE
+    private static final int BLOCK_SIZE = 128;
+    private static final int MAX_BLOCK_SIZE = 2 * BLOCK_SIZE;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::term).thenComparingLong(Entry::id);
+
+    private volatile Block[] blocks = new Block[0];
+    // the indexed fields of each employee; also tells an update which terms it replaces
+    private final Map<Long, EmployeeSearchResult> employees = new ConcurrentHashMap<>();
+
+    public void add(Employee employee) {
+        addAll(List.of(employee));
+    }
+
+    // applies a whole page in one pass, e.g. while the loader walks the table
+    public synchronized void addAll(Collection<Employee> page) {
+        // the last version of an employee wins, so its old terms are only diffed once
+        Map<Long, Employee> latest = new LinkedHashMap<>();
+        page.forEach(employee -> latest.put(employee.getId(), employee));
+        List<Entry> removes = new ArrayList<>();
+        List<Entry> adds = new ArrayList<>();
+        for (Employee employee : latest.values()) {
+            EmployeeSearchResult result = new EmployeeSearchResult(employee.getId(), employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail());
+            EmployeeSearchResult previous = employees.put(employee.getId(), result);
+            Set<String> oldTerms = previous == null ? Set.of() : terms(previous);
+            Set<String> newTerms = terms(result);
+            oldTerms.stream().filter(term -> !newTerms.contains(term))
+                    .forEach(term -> removes.add(new Entry(term, employee.getId())));
+            newTerms.stream().filter(term -> !oldTerms.contains(term))
+                    .forEach(term -> adds.add(new Entry(term, employee.getId())));
+        }
+        apply(removes, adds);
+    }
+
+    public synchronized void remove(Long id) {
+        EmployeeSearchResult previous = employees.remove(id);
+        if (previous != null) {
+            apply(terms(previous).stream().map(term -> new Entry(term, id)).toList(), List.of());
+        }
+    }
+
+    public synchronized void clear() {
+        blocks = new Block[0];
+        employees.clear();
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public List<EmployeeSearchResult> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Block[] snapshot = blocks;
+        // one employee can match on several terms (e.g. first name and email), so de-duplicate by id
+        Set<Long> seen = new LinkedHashSet<>();
+        List<EmployeeSearchResult> results = new ArrayList<>(limit);
+        for (int b = Math.max(0, blockFor(snapshot, normalized, Long.MIN_VALUE)); b < snapshot.length; b++) {
+            Block block = snapshot[b];
+            for (int i = block.lowerBound(normalized, Long.MIN_VALUE); i < block.ids.length; i++) {
+                if (!block.terms[i].startsWith(normalized)) {
+                    return results;
+                }
+                // null once a concurrent remove has dropped the employee but not yet its terms
+                EmployeeSearchResult result = employees.get(block.ids[i]);
+                if (result != null && seen.add(result.getId())) {
+                    results.add(result);
+                    if (results.size() == limit) {
+                        return results;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // Merges the sorted changes into the blocks whose key range they fall in; untouched blocks are reused as they are.
+    // A block owns every key from its first entry up to the next block's first entry, the first block also everything
+    // below it and the last block everything above
+    private void apply(List<Entry> removes, List<Entry> adds) {
+        if (removes.isEmpty() && adds.isEmpty()) {
+            return;
+        }
+        removes = removes.stream().sorted(ORDER).toList();
+        adds = adds.stream().sorted(ORDER).toList();
+        Block[] current = blocks;
+        List<Block> updated = new ArrayList<>(current.length + adds.size() / BLOCK_SIZE + 1);
+        int r = 0;
+        int a = 0;
+        for (int b = 0; b < current.length; b++) {
+            int rEnd = b + 1 < current.length ? current[b + 1].firstNotBelow(removes, r) : removes.size();
+            int aEnd = b + 1 < current.length ? current[b + 1].firstNotBelow(adds, a) : adds.size();
+            if (r == rEnd && a == aEnd) {
+                updated.add(current[b]);
+            } else {
+                split(current[b].merge(removes.subList(r, rEnd), adds.subList(a, aEnd)), updated);
+            }
+            r = rEnd;
+            a = aEnd;
+        }
+        if (current.length == 0) {
+            split(adds, updated);
+        }
+        blocks = updated.toArray(Block[]::new);
+    }
+
+    // an oversized run becomes equal blocks of about BLOCK_SIZE, rather than full ones and a small remainder
+    private static void split(List<Entry> entries, List<Block> into) {
+        int count = entries.size() <= MAX_BLOCK_SIZE ? 1 : (entries.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int size = Math.max(1, (entries.size() + count - 1) / count);
+        for (int from = 0; from < entries.size(); from += size) {
+            into.add(Block.of(entries.subList(from, Math.min(from + size, entries.size()))));
+        }
+    }
+
+    // the last block whose first entry is not above (term, id), or -1 if (term, id) sorts before every block
+    private static int blockFor(Block[] blocks, String term, long id) {
+        int low = 0;
+        int high = blocks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(blocks[mid].terms[0], blocks[mid].ids[0], term, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static int compare(String term1, long id1, String term2, long id2) {
+        int byTerm = term1.compareTo(term2);
+        return byTerm != 0 ? byTerm : Long.compare(id1, id2);
+    }
+
+    private static Set<String> terms(EmployeeSearchResult employee) {
+        Set<String> normalizedTerms = new LinkedHashSet<>();
+        normalizedTerms.add(normalize(employee.getFirstName()));
+        normalizedTerms.add(normalize(employee.getLastName()));
+        normalizedTerms.add(normalize(employee.getFirstName() + " " + employee.getLastName()));
+        normalizedTerms.add(normalize(employee.getEmail()));
+        normalizedTerms.remove("");
+        return normalizedTerms;
+    }
+
+    // case-, accent- and surrounding-whitespace-insensitive: "  Zoë" and "zoe" index the same
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.search.index.size", this, EmployeeSearchIndex::size)
+                .description("Employees in the typeahead index")
+                .register(registry);
+    }
+
+    private record Entry(String term, long id) {
+    }
+
+    // never modified once published
+    private record Block(String[] terms, long[] ids) {
+
+        static Block of(List<Entry> entries) {
+            String[] terms = new String[entries.size()];
+            long[] ids = new long[entries.size()];
+            for (int i = 0; i < terms.length; i++) {
+                Entry entry = entries.get(i);
+                // neighbours often share a term (a common first name), so they share one String too
+                terms[i] = i > 0 && entry.term().equals(terms[i - 1]) ? terms[i - 1] : entry.term();
+                ids[i] = entry.id();
+            }
+            return new Block(terms, ids);
+        }
+
+        // the first position holding an entry not below (term, id)
+        int lowerBound(String term, long id) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(terms[mid], ids[mid], term, id) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // the index, from start on, of the first of the sorted changes that isn't below this block's first entry
+        int firstNotBelow(List<Entry> changes, int start) {
+            int end = start;
+            while (end < changes.size() && compare(changes.get(end).term(), changes.get(end).id(), terms[0], ids[0]) < 0) {
+                end++;
+            }
+            return end;
+        }
+
+        List<Entry> merge(List<Entry> removes, List<Entry> adds) {
+            List<Entry> merged = new ArrayList<>(ids.length + adds.size());
+            int r = 0;
+            int a = 0;
+            for (int i = 0; i < ids.length; i++) {
+                while (a < adds.size() && compare(adds.get(a).term(), adds.get(a).id(), terms[i], ids[i]) < 0) {
+                    merged.add(adds.get(a++));
+                }
+                while (r < removes.size() && compare(removes.get(r).term(), removes.get(r).id(), terms[i], ids[i]) < 0) {
+                    r++;
+                }
+                if (r < removes.size() && compare(removes.get(r).term(), removes.get(r).id(), terms[i], ids[i]) == 0) {
+                    r++;
+                } else {
+                    merged.add(new Entry(terms[i], ids[i]));
+                }
+            }
+            merged.addAll(adds.subList(a, adds.size()));
+            return merged;
+        }
+    }
+}
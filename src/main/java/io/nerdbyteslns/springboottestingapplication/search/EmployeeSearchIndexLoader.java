@@ -0,0 +1,41 @@
+package io.nerdbyteslns.springboottestingapplication.search;
+
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Fills the typeahead index once all singletons exist, before the web server starts taking requests.
+@Slf4j
+@Component
+public class EmployeeSearchIndexLoader implements SmartInitializingSingleton {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex searchIndex;
+
+    public EmployeeSearchIndexLoader(EmployeeRepository employeeRepository, EmployeeSearchIndex searchIndex) {
+        this.employeeRepository = employeeRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        long after = 0L;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE));
+            searchIndex.addAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        log.info("Indexed {} employees for prefix search in {} ms", searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
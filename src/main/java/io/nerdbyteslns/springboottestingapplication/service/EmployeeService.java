@@ -1,14 +1,33 @@
 package io.nerdbyteslns.springboottestingapplication.service;
 
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeFieldsPage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
     List<Employee> getAllEmployees();
+    EmployeePage getEmployeesPage(Long after, int limit);
+    EmployeeFieldsPage getEmployeeFieldsPage(Long after, int limit, Set<EmployeeField> fields);
+    void exportEmployees(Consumer<Employee> consumer);
+    List<EmployeeNameView> findEmployeesByName(String firstName, String lastName, int page, int size);
+    List<EmployeeSearchResult> searchEmployees(String prefix, int limit);
     Optional<Employee> getEmployeeById(Long id);
+    Optional<Employee> getEmployeeByEmail(String email);
+    String getCollectionVersion();
     Employee updateEmployee(Employee updatedEmployee);
     void deleteEmployee(Long id);
+    void deleteEmployee(Long id, long expectedVersion);
+    int deleteEmployees(Collection<Long> ids);
 }
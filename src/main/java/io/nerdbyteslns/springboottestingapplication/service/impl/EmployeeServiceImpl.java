@@ -1,58 +1,410 @@
 package io.nerdbyteslns.springboottestingapplication.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeCache;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeChangeCounter;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeEmailFilter;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeJsonCache;
+import io.nerdbyteslns.springboottestingapplication.cache.SingleFlight;
+import io.nerdbyteslns.springboottestingapplication.changes.EmployeeChangeLog;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeFieldsPage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.exception.ResourceConflictException;
 import io.nerdbyteslns.springboottestingapplication.exception.ResourceNotFoundException;
+import io.nerdbyteslns.springboottestingapplication.metrics.EmployeeMetrics;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
 import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.search.EmployeeSearchIndex;
 import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import jakarta.persistence.Tuple;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
+@Timed("employee.service")
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
+    private final EmployeeCache employeeCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final EmployeeProperties properties;
+    private final EmployeeMetrics metrics;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeChangeCounter changeCounter;
+    private final EmployeeJsonCache jsonCache;
+    private final EmployeeEmailFilter emailFilter;
+    private final EmployeeChangeLog changeLog;
+    // concurrent misses for the same id or email share one query instead of each running their own
+    private final SingleFlight<Long, Optional<Employee>> lookupsById = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Employee>> lookupsByEmail = new SingleFlight<>();
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeCache employeeCache,
+                               PlatformTransactionManager transactionManager, EmployeeProperties properties,
+                               EmployeeMetrics metrics, EmployeeSearchIndex searchIndex,
+                               EmployeeChangeCounter changeCounter, EmployeeJsonCache jsonCache,
+                               EmployeeEmailFilter emailFilter, EmployeeChangeLog changeLog) {
         this.employeeRepository = employeeRepository;
+        this.employeeCache = employeeCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.metrics = metrics;
+        this.searchIndex = searchIndex;
+        this.changeCounter = changeCounter;
+        this.jsonCache = jsonCache;
+        this.emailFilter = emailFilter;
+        this.changeLog = changeLog;
+        metrics.monitor("id", lookupsById);
+        metrics.monitor("email", lookupsByEmail);
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        boolean savedEmployee = employeeRepository.findByEmail(employee.getEmail()).isPresent();
-        if (savedEmployee) {
-            throw new ResourceNotFoundException("Employee with email " + employee.getEmail() + " already exists");
+        // a single INSERT; the unique index on email rejects duplicates atomically, even under concurrent creates
+        Employee newEmployee;
+        try {
+            newEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                metrics.duplicate("save");
+                throw new ResourceNotFoundException("Employee with email " + employee.getEmail() + " already exists", ex);
+            }
+            throw ex;
+        }
+        // added before commit: a stale entry after a rollback only costs a lookup, a missing one would skip the check
+        emailFilter.add(newEmployee.getEmail());
+        afterCommit(() -> {
+            employeeCache.put(newEmployee);
+            lookupsByEmail.forget(newEmployee.getEmail());
+            searchIndex.add(newEmployee);
+            changeCounter.increment();
+        });
+        changeLog.created(newEmployee);
+        return newEmployee;
+    }
+
+    // no outer transaction: each chunk commits on its own through transactionTemplate
+    @Override
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Set<String> seenEmails = new HashSet<>();
+        // a commit size below 1 would never advance the loop
+        int commitSize = Math.max(1, properties.getBatch().getCommitSize());
+        for (int from = 0; from < employees.size(); from += commitSize) {
+            saveChunk(employees, from, Math.min(from + commitSize, employees.size()), seenEmails, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // validates and inserts employees[from, to) in one transaction, filling in results for those indexes
+    private void saveChunk(List<Employee> employees, int from, int to, Set<String> seenEmails, EmployeeBatchResult[] results) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Employee employee = employees.get(i);
+            if (employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+                results[i] = EmployeeBatchResult.rejected(i, EmployeeBatchResult.Status.INVALID, employee,
+                        "firstName, lastName and email are required");
+            } else if (!seenEmails.add(employee.getEmail())) {
+                metrics.duplicate("batch");
+                results[i] = EmployeeBatchResult.rejected(i, EmployeeBatchResult.Status.DUPLICATE, employee,
+                        "Employee with email " + employee.getEmail() + " appears more than once in the batch");
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // one IN query per chunk instead of a findByEmail per employee, and only for emails the filter can't rule out
+        List<String> maybeExisting = candidates.stream().map(i -> employees.get(i).getEmail())
+                .filter(emailFilter::mightContain).toList();
+        Set<String> existingEmails = maybeExisting.isEmpty()
+                ? Set.of() : new HashSet<>(employeeRepository.findExistingEmails(maybeExisting));
+        emailFilter.recordLookups(candidates.size() - maybeExisting.size(), maybeExisting.size(), existingEmails.size());
+        List<Integer> inserts = new ArrayList<>();
+        for (int i : candidates) {
+            Employee employee = employees.get(i);
+            if (existingEmails.contains(employee.getEmail())) {
+                metrics.duplicate("batch");
+                results[i] = EmployeeBatchResult.rejected(i, EmployeeBatchResult.Status.DUPLICATE, employee,
+                        "Employee with email " + employee.getEmail() + " already exists");
+            } else {
+                employee.setId(0);
+                inserts.add(i);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        List<Employee> newEmployees = inserts.stream().map(employees::get).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    employeeRepository.persistAll(newEmployees, Math.max(1, properties.getBatch().getJdbcBatchSize())));
+            for (int i : inserts) {
+                results[i] = EmployeeBatchResult.created(i, employees.get(i));
+                emailFilter.add(employees.get(i).getEmail());
+                searchIndex.add(employees.get(i));
+                changeLog.created(employees.get(i));
+            }
+            changeCounter.increment();
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent create took one of the emails after our check; retry one by one so only that row fails
+            for (int i : inserts) {
+                results[i] = saveBatchItem(i, employees.get(i));
+            }
+        }
+    }
+
+    private EmployeeBatchResult saveBatchItem(int index, Employee employee) {
+        employee.setId(0);
+        try {
+            return EmployeeBatchResult.created(index, saveEmployee(employee));
+        } catch (ResourceNotFoundException ex) {
+            return EmployeeBatchResult.rejected(index, EmployeeBatchResult.Status.DUPLICATE, employee, ex.getMessage());
+        } catch (DataIntegrityViolationException ex) {
+            return EmployeeBatchResult.rejected(index, EmployeeBatchResult.Status.FAILED, employee, ex.getMostSpecificCause().getMessage());
         }
-        return employeeRepository.save(employee);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // fetch one extra row so we know whether another page exists without a count query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(pageSize + 1));
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+        List<Employee> content = employees.subList(0, pageSize);
+        return new EmployeePage(content, content.get(pageSize - 1).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeFieldsPage getEmployeeFieldsPage(Long after, int limit, Set<EmployeeField> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Tuple> rows = employeeRepository.findFieldsByIdGreaterThan(after == null ? 0L : after, fields, pageSize + 1);
+        List<Map<String, Object>> content = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (Tuple row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            fields.forEach(field -> values.put(field.getProperty(), row.get(field.getProperty())));
+            content.add(values);
+        }
+        // id is always selected for the cursor, even when the client did not ask for it
+        Long nextCursor = rows.size() > pageSize ? rows.get(pageSize - 1).get(EmployeeField.ID.getProperty(), Long.class) : null;
+        return new EmployeeFieldsPage(content, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                employeeRepository.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeNameView> findEmployeesByName(String firstName, String lastName, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return employeeRepository.findNamesByJPQL(firstName, lastName, PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
+    @Override
+    public List<EmployeeSearchResult> searchEmployees(String prefix, int limit) {
+        return searchIndex.search(prefix, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // cache hits don't open a transaction; a miss runs one read-only load for every caller waiting on the id
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        Optional<Employee> employee = lookupsById.execute(id, () -> employeeCache.get(id, key ->
+                readOnlyTransactionTemplate.execute(status -> employeeRepository.findById(key))));
+        if (employee.isEmpty()) {
+            metrics.notFound("get");
+        }
+        return employee;
     }
 
     @Override
-    public Employee updateEmployee(Employee updatedEmployee) {
-        Optional<Employee> employee = employeeRepository.findById(updatedEmployee.getId());
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        Optional<Employee> employee = lookupsByEmail.execute(email, () ->
+                readOnlyTransactionTemplate.execute(status -> employeeRepository.findByEmail(email)));
         if (employee.isEmpty()) {
-            throw new ResourceNotFoundException("Employee with id " + updatedEmployee.getId() + " not found");
+            metrics.notFound("get_by_email");
+        }
+        return employee;
+    }
+
+    @Override
+    public String getCollectionVersion() {
+        return changeCounter.current();
+    }
+
+    @Override
+    @Transactional
+    public Employee updateEmployee(Employee updatedEmployee) {
+        int updated;
+        try {
+            updated = employeeRepository.updateIfVersionMatches(updatedEmployee.getId(), updatedEmployee.getVersion(),
+                    updatedEmployee.getFirstName(), updatedEmployee.getLastName(), updatedEmployee.getEmail());
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                metrics.duplicate("update");
+                throw new ResourceNotFoundException("Employee with email " + updatedEmployee.getEmail() + " already exists", ex);
+            }
+            throw ex;
         }
-        return employeeRepository.save(updatedEmployee);
+        if (updated == 0) {
+            // only the failure path pays for a second query to tell the two cases apart
+            if (!employeeRepository.existsById(updatedEmployee.getId())) {
+                metrics.notFound("update");
+                throw new ResourceNotFoundException("Employee with id " + updatedEmployee.getId() + " not found");
+            }
+            metrics.conflict("update");
+            throw new ResourceConflictException("Employee with id " + updatedEmployee.getId()
+                    + " was modified concurrently; version " + updatedEmployee.getVersion() + " is stale");
+        }
+        updatedEmployee.setVersion(updatedEmployee.getVersion() + 1);
+        emailFilter.add(updatedEmployee.getEmail());
+        afterCommit(() -> {
+            employeeRepository.evictFromSecondLevelCache(List.of(updatedEmployee.getId()));
+            employeeCache.put(updatedEmployee);
+            lookupsByEmail.forget(updatedEmployee.getEmail());
+            jsonCache.invalidate(updatedEmployee.getId());
+            searchIndex.add(updatedEmployee);
+            changeCounter.increment();
+        });
+        changeLog.updated(updatedEmployee);
+        return updatedEmployee;
     }
 
     @Override
+    @Transactional
     public void deleteEmployee(Long id) {
-        Optional<Employee> employee = employeeRepository.findById(id);
-        if (employee.isEmpty()) {
+        int deleted = employeeRepository.deleteEmployeeById(id);
+        if (deleted == 0) {
+            metrics.notFound("delete");
             throw new ResourceNotFoundException("Employee with id " + id + " not found");
         }
-        employeeRepository.deleteById(id);
+        evict(id);
+    }
+
+    @Override
+    @Transactional
+    public void deleteEmployee(Long id, long expectedVersion) {
+        int deleted = employeeRepository.deleteEmployeeByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            if (!employeeRepository.existsById(id)) {
+                metrics.notFound("delete");
+                throw new ResourceNotFoundException("Employee with id " + id + " not found");
+            }
+            metrics.conflict("delete");
+            throw new ResourceConflictException("Employee with id " + id
+                    + " was modified concurrently; version " + expectedVersion + " is stale");
+        }
+        evict(id);
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployees(Collection<Long> ids) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> deleted = employeeRepository.deleteEmployeesByIds(distinctIds);
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+        afterCommit(() -> {
+            employeeRepository.evictFromSecondLevelCache(deleted);
+            deleted.forEach(id -> {
+                employeeCache.invalidate(id);
+                lookupsById.forget(id);
+                jsonCache.invalidate(id);
+                searchIndex.remove(id);
+            });
+            changeCounter.increment();
+        });
+        deleted.forEach(changeLog::deleted);
+        return deleted.size();
+    }
+
+    private void evict(Long id) {
+        afterCommit(() -> {
+            employeeRepository.evictFromSecondLevelCache(List.of(id));
+            employeeCache.invalidate(id);
+            lookupsById.forget(id);
+            jsonCache.invalidate(id);
+            searchIndex.remove(id);
+            changeCounter.increment();
+        });
+        changeLog.deleted(id);
+    }
+
+    // caches, in-flight lookups, the search index and the collection ETag only see a write once it has committed:
+    // a rollback leaves them alone, and a reader can't re-cache the old row after the invalidation has run.
+    // Registered before the change log's own callback, so a client following a change finds the caches already fresh
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex instanceof DuplicateKeyException
+                || ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
     }
 }
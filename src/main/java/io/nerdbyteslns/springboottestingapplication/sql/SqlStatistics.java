@@ -0,0 +1,117 @@
+package io.nerdbyteslns.springboottestingapplication.sql;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Always-on per-statement counters fed by SqlStatisticsDataSource: executions, total and max time, rows read.
+// Statements are keyed by their JDBC text, which is normalized once on first sight (literals and IN lists
+// collapsed), so the hot path is one map lookup and a few adders. Read through /actuator/sqlstats.
+@Slf4j
+@Component
+public class SqlStatistics {
+
+    static final String OTHER = "(other)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Stats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, Stats> byStatement = new ConcurrentHashMap<>();
+    private final long slowQueryThresholdNanos;
+    private final double slowQuerySampleRate;
+    private final int maxStatements;
+
+    public SqlStatistics(EmployeeProperties properties) {
+        EmployeeProperties.Sql sql = properties.getSql();
+        this.slowQueryThresholdNanos = sql.getSlowQueryThreshold().toNanos();
+        this.slowQuerySampleRate = sql.getSlowQuerySampleRate();
+        this.maxStatements = sql.getMaxStatements();
+    }
+
+    public record StatementSummary(String statement, long count, double totalMs, double meanMs, double maxMs, long rows) {
+    }
+
+    public static final class Stats {
+        private final String statement;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+
+        private Stats(String statement) {
+            this.statement = statement;
+        }
+
+        public void addRow() {
+            rows.increment();
+        }
+
+        private StatementSummary summary() {
+            long executions = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new StatementSummary(statement, executions, totalMs, executions == 0 ? 0 : totalMs / executions,
+                    maxNanos.get() / 1_000_000.0, rows.sum());
+        }
+    }
+
+    public Stats statsFor(String sql) {
+        Stats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        // the cap is on distinct statements, so any number of IN-list or literal variants of one still count there
+        String statement = normalize(sql);
+        stats = byStatement.get(statement);
+        if (stats == null) {
+            stats = byStatement.computeIfAbsent(byStatement.size() < maxStatements ? statement : OTHER, Stats::new);
+        }
+        // the raw-text shortcut is bounded as well; a variant seen after it fills is normalized on every execution
+        if (bySql.size() < maxStatements) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    public void recordExecution(Stats stats, long nanos) {
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+        if (nanos >= slowQueryThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+            // the normalized text only: bind values can carry personal data
+            log.warn("Slow SQL ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), stats.statement);
+        }
+    }
+
+    // most expensive first
+    public List<StatementSummary> summaries() {
+        return byStatement.values().stream()
+                .map(Stats::summary)
+                .sorted(Comparator.comparingDouble(StatementSummary::totalMs).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        bySql.clear();
+        byStatement.clear();
+    }
+
+    static String normalize(String sql) {
+        String statement = STRING_LITERAL.matcher(sql).replaceAll("?");
+        statement = NUMBER_LITERAL.matcher(statement).replaceAll("?");
+        statement = WHITESPACE.matcher(statement).replaceAll(" ").strip();
+        return IN_LIST.matcher(statement).replaceAll("in (...)");
+    }
+}
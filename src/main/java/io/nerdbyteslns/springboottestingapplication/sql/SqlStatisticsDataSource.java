@@ -0,0 +1,115 @@
+package io.nerdbyteslns.springboottestingapplication.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Times every execute* call and counts the rows read from its result sets, on JDK proxies around the
+// connections, statements and result sets of the wrapped DataSource.
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    private final SqlStatistics statistics;
+
+    public SqlStatisticsDataSource(DataSource target, SqlStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    // sql is null for plain statements, which pass it to each execute call instead
+    private <S extends Statement> S statement(Class<S> type, S target, String sql) {
+        SqlStatistics.Stats prepared = sql == null ? null : statistics.statsFor(sql);
+        SqlStatistics.Stats[] last = {prepared};
+        return proxy(type, target, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                SqlStatistics.Stats stats = prepared;
+                if (stats == null && args != null && args.length > 0 && args[0] instanceof String text) {
+                    stats = statistics.statsFor(text);
+                }
+                long start = System.nanoTime();
+                Object result = method.invoke(target, args);
+                if (stats != null) {
+                    statistics.recordExecution(stats, System.nanoTime() - start);
+                    last[0] = stats;
+                }
+                return result instanceof ResultSet resultSet ? resultSet(resultSet, stats) : result;
+            }
+            Object result = method.invoke(target, args);
+            return result instanceof ResultSet resultSet && name.equals("getResultSet") ? resultSet(resultSet, last[0]) : result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet target, SqlStatistics.Stats stats) {
+        if (stats == null) {
+            return target;
+        }
+        return proxy(ResultSet.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.addRow();
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                default:
+            }
+            try {
+                return invocation.invoke(method, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
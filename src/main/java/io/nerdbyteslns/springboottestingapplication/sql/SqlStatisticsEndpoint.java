@@ -0,0 +1,30 @@
+package io.nerdbyteslns.springboottestingapplication.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/sqlstats lists statements by total time spent; DELETE starts a fresh measurement window.
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatisticsEndpoint {
+
+    private final SqlStatistics statistics;
+
+    public SqlStatisticsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public List<SqlStatistics.StatementSummary> statements() {
+        return statistics.summaries();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -0,0 +1,11 @@
+-- Schema for the reactive variant; R2DBC has no equivalent of hibernate.hbm2ddl.
+CREATE TABLE IF NOT EXISTS employees (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL,
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_first ON employees (last_name, first_name);
@@ -0,0 +1,90 @@
+package io.nerdbyteslns.springboottestingapplication.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @DisplayName("Junit 5 Test for sharing one load between concurrent callers of the same key")
+    @Test
+    public void givenConcurrentCallsForOneKey_whenExecute_thenRunSupplierOnce() throws Exception {
+        // given - precondition or setup
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when - action or the behaviour that we are going test
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "John";
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return "Johnny";
+        }));
+        while (singleFlight.shared() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then - verify the output
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("John");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("John");
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.executions()).isEqualTo(1);
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Junit 5 Test for loading again once the previous call has completed")
+    @Test
+    public void givenCompletedCall_whenExecuteAgain_thenRunSupplierAgain() {
+        // given - precondition or setup
+        singleFlight.execute(1L, () -> "John");
+
+        // when - action or the behaviour that we are going test
+        String value = singleFlight.execute(1L, () -> "Johnny");
+
+        // then - verify the output
+        assertThat(value).isEqualTo("Johnny");
+        assertThat(singleFlight.executions()).isEqualTo(2);
+        assertThat(singleFlight.shared()).isZero();
+    }
+
+    @DisplayName("Junit 5 Test for rethrowing a failed load and not remembering it")
+    @Test
+    public void givenFailingSupplier_whenExecute_thenThrowAndLoadAgainNextTime() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then - verify the output
+        assertThat(singleFlight.execute(1L, () -> "John")).isEqualTo("John");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.nerdbyteslns.springboottestingapplication.changes;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChange;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChangeFeed;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class EmployeeChangeLogTests {
+
+    private EmployeeProperties properties;
+    private EmployeeChangeLog changeLog;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeProperties();
+        properties.getChanges().setMaxSize(3);
+        properties.getChanges().setTombstoneRetention(Duration.ZERO);
+        changeLog = new EmployeeChangeLog(properties);
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLog.destroy();
+    }
+
+    @DisplayName("Junit 5 Test for keeping only the latest change per employee")
+    @Test
+    public void givenSeveralChangesToOneEmployee_whenSince_thenReturnOnlyTheLatestInOrder() {
+        // given - precondition or setup
+        String cursor = changeLog.current();
+        changeLog.created(employee);
+        changeLog.deleted(2L);
+        employee.setVersion(1L);
+        changeLog.updated(employee);
+
+        // when - action or the behaviour that we are going test
+        Optional<EmployeeChangeFeed> feed = changeLog.since(cursor, 10);
+        Optional<EmployeeChangeFeed> firstPage = changeLog.since(cursor, 1);
+
+        // then - verify the output
+        assertThat(feed).get().extracting(EmployeeChangeFeed::getCursor).isEqualTo(changeLog.current());
+        assertThat(feed.get().getChanges()).extracting(EmployeeChange::getId, EmployeeChange::getType, EmployeeChange::getVersion)
+                .containsExactly(tuple(2L, EmployeeChange.Type.DELETED, null),
+                        tuple(1L, EmployeeChange.Type.UPDATED, 1L));
+        assertThat(firstPage.get().getChanges()).hasSize(1);
+        assertThat(changeLog.since(firstPage.get().getCursor(), 10).get().getChanges())
+                .extracting(EmployeeChange::getType).containsExactly(EmployeeChange.Type.UPDATED);
+    }
+
+    @DisplayName("Junit 5 Test for refusing cursors behind compacted tombstones")
+    @Test
+    public void givenExpiredTombstone_whenCompact_thenRefuseOlderCursors() {
+        // given - precondition or setup
+        String before = changeLog.current();
+        changeLog.created(employee);
+        changeLog.deleted(2L);
+        String after = changeLog.current();
+
+        // when - action or the behaviour that we are going test
+        changeLog.compact();
+
+        // then - verify the output
+        assertThat(changeLog.since(before, 10)).isEmpty();
+        assertThat(changeLog.since(after, 10)).get().extracting(EmployeeChangeFeed::getChanges, InstanceOfAssertFactories.LIST).isEmpty();
+        assertThat(changeLog.since("0-0", 10)).isEmpty();
+    }
+
+    @DisplayName("Junit 5 Test for dropping the oldest changes beyond the maximum size")
+    @Test
+    public void givenMoreEmployeesThanMaxSize_whenAppend_thenDropOldestAndRefuseCursorsBeforeIt() {
+        // given - precondition or setup
+        String before = changeLog.current();
+        changeLog.created(employee);
+        String afterFirst = changeLog.current();
+
+        // when - action or the behaviour that we are going test
+        for (long id = 2; id <= 4; id++) {
+            changeLog.created(Employee.builder().id(id).build());
+        }
+
+        // then - verify the output
+        assertThat(changeLog.since(before, 10)).isEmpty();
+        assertThat(changeLog.since(afterFirst, 10).get().getChanges()).extracting(EmployeeChange::getId)
+                .containsExactly(2L, 3L, 4L);
+    }
+
+    @DisplayName("Junit 5 Test for notifying subscribers independently of a blocked one")
+    @Test
+    public void givenBlockedSubscriber_whenChangeRecorded_thenOtherSubscribersAreStillNotified() throws InterruptedException {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch notified = new CountDownLatch(1);
+        changeLog.subscribe(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        changeLog.subscribe(notified::countDown);
+
+        try {
+            // when - action or the behaviour that we are going test
+            changeLog.created(employee);
+
+            // then - verify the output
+            assertThat(notified.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.nerdbyteslns.springboottestingapplication.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTests {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @DisplayName("Junit 5 Test for routing read-only transactions to the replica")
+    @Test
+    public void givenReadOnlyTransaction_whenGetConnection_thenUseReplica() throws Exception {
+        // given - precondition or setup
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, Duration.ZERO);
+        given(replica.getConnection()).willReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when - action or the behaviour that we are going test
+        Connection connection = routing.getConnection();
+
+        // then - verify the output
+        assertThat(connection).isSameAs(replicaConnection);
+    }
+
+    @DisplayName("Junit 5 Test for routing read-write transactions to the primary")
+    @Test
+    public void givenReadWriteTransaction_whenGetConnection_thenUsePrimary() throws Exception {
+        // given - precondition or setup
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, Duration.ZERO);
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        // when - action or the behaviour that we are going test
+        Connection connection = routing.getConnection();
+
+        // then - verify the output
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @DisplayName("Junit 5 Test for keeping reads on the primary during the read-your-writes window")
+    @Test
+    public void givenRecentWrite_whenReadOnlyGetConnection_thenUsePrimary() throws Exception {
+        // given - precondition or setup
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+        given(primary.getConnection()).willReturn(primaryConnection);
+        routing.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when - action or the behaviour that we are going test
+        Connection connection = routing.getConnection();
+
+        // then - verify the output
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+}
@@ -0,0 +1,110 @@
+package io.nerdbyteslns.springboottestingapplication.controller;
+
+import io.nerdbyteslns.springboottestingapplication.changes.EmployeeChangeLog;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@WebMvcTest(EmployeeChangesController.class)
+@Import(EmployeeChangeLog.class)
+@EnableConfigurationProperties(EmployeeProperties.class)
+public class EmployeeChangesControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeChangeLog changeLog;
+
+    @DisplayName("Junit 5 Test to get the changes after a cursor")
+    @Test
+    public void givenCursor_whenGetChanges_thenReturnChangesAfterIt() throws Exception {
+        // given - precondition or setup
+        String cursor = changeLog.current();
+        changeLog.deleted(7L);
+
+        // when - action or the behaviour that we are going test
+        ResultActions start = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes"));
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                .param("since", cursor));
+
+        // then - verify the output
+        start.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cursor").value(changeLog.current()));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].id").value(7))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.cursor").value(changeLog.current()))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @DisplayName("Junit 5 Test to long-poll until an Employee changes")
+    @Test
+    public void givenNoChangesYet_whenWaitForChanges_thenAnswerOnceAnEmployeeChanges() throws Exception {
+        // given - precondition or setup
+        String cursor = changeLog.current();
+
+        // when - action or the behaviour that we are going test
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                        .param("since", cursor)
+                        .param("wait", ""))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        changeLog.created(Employee.builder().id(8L).build());
+
+        // then - verify the output
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].id").value(8))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type").value("CREATED"));
+    }
+
+    @DisplayName("Junit 5 Test to stream Employee changes as server-sent events")
+    @Test
+    public void givenCursor_whenStreamChanges_thenSendEachChangeAsAnEvent() throws Exception {
+        // given - precondition or setup
+        String cursor = changeLog.current();
+        changeLog.deleted(9L);
+
+        // when - action or the behaviour that we are going test
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                        .header("Last-Event-ID", cursor)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // then - verify the output
+        String events = mvcResult.getResponse().getContentAsString();
+        Assertions.assertThat(events)
+                .contains("id:" + changeLog.current())
+                .contains("event:change")
+                .contains("\"id\":9");
+    }
+
+    @DisplayName("Junit 5 Test to refuse a cursor from another run")
+    @Test
+    public void givenUnknownCursor_whenGetChanges_thenReturnGone() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                .param("since", "abc-1"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isGone())
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
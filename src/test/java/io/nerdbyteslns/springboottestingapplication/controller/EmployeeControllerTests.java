@@ -2,32 +2,59 @@ package io.nerdbyteslns.springboottestingapplication.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeJsonCache;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeCreateStatus;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeFieldsPage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.exception.ResourceConflictException;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.queue.EmployeeCreateQueue;
 import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @WebMvcTest(EmployeeController.class)
+@Import(EmployeeJsonCache.class)
+@EnableConfigurationProperties(EmployeeProperties.class)
 public class EmployeeControllerTests {
 
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private EmployeeService employeeService;
+    @MockBean
+    private EmployeeCreateQueue createQueue;
+    @Autowired
+    private EmployeeJsonCache jsonCache;
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -35,6 +62,8 @@ public class EmployeeControllerTests {
 
     @BeforeEach
     void setUp() {
+        jsonCache.invalidateAll();
+
         employees = List.of(
                 Employee.builder()
                         .id(1L)
@@ -104,17 +133,116 @@ public class EmployeeControllerTests {
     }
 
 
+    @DisplayName("Junit 5 Test to queue a new Employee with async")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployeeAsync_thenReturnAccepted() throws Exception {
+        // given - precondition or setup
+        Employee employee = employees.get(0);
+        BDDMockito.given(createQueue.submit(ArgumentMatchers.any(Employee.class)))
+                .willReturn(Optional.of(EmployeeCreateStatus.pending("abc", employee)));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .param("async", "true")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string("Location", "/api/employees/pending/abc"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("PENDING"));
+        Mockito.verify(employeeService, Mockito.never()).saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    @DisplayName("Junit 5 Test to refuse an async create when the queue is full")
+    @Test
+    public void givenFullQueue_whenCreateEmployeeAsync_thenReturnTooManyRequests() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(createQueue.submit(ArgumentMatchers.any(Employee.class))).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .param("async", "true")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees.get(0))));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+    }
+
+    @DisplayName("Junit 5 Test to get an Employee by email")
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() throws Exception {
+        // given - precondition or setup
+        Employee employee = employees.get(0);
+        BDDMockito.given(employeeService.getEmployeeByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeService.getEmployeeByEmail("unknown@example.com")).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/by-email")
+                .param("email", employee.getEmail()));
+        ResultActions missing = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/by-email")
+                .param("email", "unknown@example.com"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-0\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email").value(employee.getEmail()))
+                .andDo(MockMvcResultHandlers.print());
+        missing.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @DisplayName("Junit 5 Test to get the status of an unknown async create")
+    @Test
+    public void givenUnknownTrackingId_whenGetCreateStatus_thenReturnNotFound() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(createQueue.getStatus("abc")).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/pending/{trackingId}", "abc"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+
+    @DisplayName("Junit 5 Test to create Employees in bulk")
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_thenReturnResultPerItem() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.saveEmployees(ArgumentMatchers.anyList()))
+                .willReturn(List.of(
+                        EmployeeBatchResult.created(0, employees.get(0)),
+                        EmployeeBatchResult.rejected(1, EmployeeBatchResult.Status.DUPLICATE, employees.get(1), "already exists")));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees.subList(0, 2))));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("DUPLICATE"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @DisplayName("Junit 5 Test to get all Employees")
     @Test
     public void givenEmployees_whenGetAllEmployees_thenReturnAllEmployees() throws Exception {
         // given - precondition or setup
 
 
-        BDDMockito.given(employeeService.getAllEmployees())
-                .willReturn(employees);
+        BDDMockito.given(employeeService.getEmployeesPage(null, 500))
+                .willReturn(new EmployeePage(employees, null));
 
         // when - action or the behaviour that we are going test
-        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
 
         // then - verify the output
         response.andExpect(result -> {
@@ -127,6 +255,128 @@ public class EmployeeControllerTests {
         response.andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @DisplayName("Junit 5 Test to get all Employees streamed across several keyset pages")
+    @Test
+    public void givenSeveralPages_whenGetAllEmployees_thenStreamEveryPage() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeesPage(null, 500))
+                .willReturn(new EmployeePage(employees.subList(0, 3), 3L));
+        BDDMockito.given(employeeService.getEmployeesPage(3L, 500))
+                .willReturn(new EmployeePage(employees.subList(3, 5), null));
+
+        // when - action or the behaviour that we are going test
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(employees.size()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[4].email").value("alice.wonder@example.com"));
+    }
+
+    @DisplayName("Junit 5 Test to get a keyset page of Employees")
+    @Test
+    public void givenAfterAndLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeesPage(2L, 2))
+                .willReturn(new EmployeePage(employees.subList(2, 4), 4L));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("after", "2")
+                .param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(4))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @DisplayName("Junit 5 Test to assemble a keyset page from cached JSON fragments without caching the misses")
+    @Test
+    public void givenOneCachedEmployee_whenGetEmployeesPage_thenReuseItsFragmentAndCacheNothingElse() throws Exception {
+        // given - precondition or setup
+        jsonCache.get(employees.get(2));
+        // same id and version, so the page can only show "Robert" by serializing the row again
+        employees.get(2).setFirstName("Robert");
+        BDDMockito.given(employeeService.getEmployeesPage(2L, 2))
+                .willReturn(new EmployeePage(employees.subList(2, 4), 4L));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("after", "2")
+                .param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].firstName").value("Bob"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].firstName").value("Tom"));
+        Assertions.assertThat(jsonCache.getIfPresent(4L, employees.get(3).getVersion())).isNull();
+    }
+
+    @DisplayName("Junit 5 Test to get a keyset page of selected Employee fields")
+    @Test
+    public void givenFields_whenGetEmployeesPage_thenReturnOnlyThoseFields() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeFieldsPage(null, 2, EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL)))
+                .willReturn(new EmployeeFieldsPage(List.of(Map.of("id", 1L, "email", "john.doe@example.com")), null));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("limit", "2")
+                .param("fields", "email,id"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email").value("john.doe@example.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].firstName").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isEmpty())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @DisplayName("Junit 5 Test to reject an unknown Employee field")
+    @Test
+    public void givenUnknownField_whenGetEmployeesPage_thenReturnBadRequest() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("limit", "2")
+                .param("fields", "id,salary"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+        BDDMockito.then(employeeService).should(Mockito.never()).getEmployeeFieldsPage(ArgumentMatchers.any(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+    }
+
+    @DisplayName("Junit 5 Test to search Employees by name")
+    @Test
+    public void givenName_whenGetEmployeesByName_thenReturnMatchingNames() throws Exception {
+        // given - precondition or setup
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        List<EmployeeNameView> names = List.of(
+                projectionFactory.createProjection(EmployeeNameView.class, employees.get(0)),
+                projectionFactory.createProjection(EmployeeNameView.class, employees.get(1)));
+        BDDMockito.given(employeeService.findEmployeesByName("John", "Doe", 0, 20)).willReturn(names);
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/by-name")
+                .param("firstName", "John")
+                .param("lastName", "Doe"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("john.doe@example.com"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @DisplayName("Junit 5 Test to get Employee by Id")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() throws Exception {
@@ -227,4 +477,117 @@ public class EmployeeControllerTests {
         // then - verify the output
         response.andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+
+    @DisplayName("Junit 5 Test to delete Employees by ids")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(2);
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("ids", "1,2,3"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("2"));
+    }
+
+    @DisplayName("Junit 5 Test to reject deleting too many Employees at once")
+    @Test
+    public void givenTooManyEmployeeIds_whenDeleteEmployees_thenReturn400() throws Exception {
+        // given - precondition or setup
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees")
+                .param("ids", ids));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        BDDMockito.then(employeeService).should(Mockito.never()).deleteEmployees(ArgumentMatchers.anyList());
+    }
+
+    @DisplayName("Junit 5 Test to search Employees by prefix")
+    @Test
+    public void givenPrefix_whenSearchEmployees_thenReturnMatches() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.searchEmployees("jo", 5))
+                .willReturn(List.of(new EmployeeSearchResult(1L, "John", "Doe", "johndoe@example.com")));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("prefix", "jo")
+                .param("limit", "5"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName").value("John"));
+    }
+
+    @DisplayName("Junit 5 Test to get Employee by Id with a matching If-None-Match - Not Modified")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+        // given - precondition or setup
+        Employee emp = Employee.builder().id(1L).firstName("John").lastName("Doe").email("johndoe@gmail.com").version(3L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(emp));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", 1L)
+                .header("If-None-Match", "\"1-3\""));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @DisplayName("Junit 5 Test to get an Employees page with a matching If-None-Match - Not Modified")
+    @Test
+    public void givenCurrentCollectionETag_whenGetEmployeesPage_thenReturnNotModifiedWithoutReading() throws Exception {
+        // given - precondition or setup
+        BDDMockito.given(employeeService.getCollectionVersion()).willReturn("abc-7");
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("limit", "2")
+                .header("If-None-Match", "\"c-abc-7\""));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified());
+        BDDMockito.then(employeeService).should(Mockito.never()).getEmployeesPage(ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    @DisplayName("Junit 5 Test to update Employee by Id with a stale If-Match - Precondition Failed")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+        // given - precondition or setup
+        Employee emp = Employee.builder().id(1L).firstName("Jane").lastName("Doe").email("janedoe@gmail.com").build();
+        BDDMockito.given(employeeService.updateEmployee(ArgumentMatchers.argThat(employee -> employee.getVersion() == 4L)))
+                .willThrow(new ResourceConflictException("Employee with id 1 was modified concurrently; version 4 is stale"));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", 1L)
+                .header("If-Match", "\"1-4\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(emp)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @DisplayName("Junit 5 Test to delete Employee by Id with an If-Match for another employee - Precondition Failed")
+    @Test
+    public void givenForeignIfMatch_whenDeleteEmployee_thenReturnPreconditionFailed() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", 1L)
+                .header("If-Match", "\"2-0\""));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
 }
@@ -0,0 +1,121 @@
+package io.nerdbyteslns.springboottestingapplication.controller;
+
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@WebMvcTest(EmployeeExportController.class)
+@EnableConfigurationProperties(EmployeeProperties.class)
+public class EmployeeExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeService employeeService;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employees = List.of(
+                Employee.builder()
+                        .id(1L)
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe@example.com")
+                        .build(),
+                Employee.builder()
+                        .id(2L)
+                        .firstName("Jane, Jr.")
+                        .lastName("Doe")
+                        .email("jane.doe@example.com")
+                        .build()
+        );
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            employees.forEach(consumer);
+            return null;
+        }).given(employeeService).exportEmployees(ArgumentMatchers.any());
+    }
+
+    @DisplayName("Junit 5 Test to export Employees as NDJSON")
+    @Test
+    public void givenEmployees_whenExportAsNdjson_thenWriteOneJsonObjectPerLine() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = export(MediaType.APPLICATION_NDJSON_VALUE);
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+                    assert lines.length == employees.size();
+                    assert lines[0].startsWith("{\"id\":1,");
+                    assert lines[1].contains("\"email\":\"jane.doe@example.com\"");
+                });
+    }
+
+    @DisplayName("Junit 5 Test to export Employees as CSV")
+    @Test
+    public void givenEmployees_whenExportAsCsv_thenWriteHeaderAndQuotedRows() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = export("text/csv");
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "id,firstName,lastName,email\n"
+                                + "1,John,Doe,john.doe@example.com\n"
+                                + "2,\"Jane, Jr.\",Doe,jane.doe@example.com\n"));
+    }
+
+    @DisplayName("Junit 5 Test to export Employees in the format with the highest quality value")
+    @Test
+    public void givenCsvWithLowerQuality_whenExport_thenWriteNdjson() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = export("application/x-ndjson, text/csv;q=0.1");
+        ResultActions csv = export("application/x-ndjson;q=0.5, text/csv");
+        ResultActions any = export(MediaType.ALL_VALUE);
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON));
+        csv.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.startsWith("id,firstName")));
+        any.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    private ResultActions export(String accept) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/export").header("Accept", accept))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
+    }
+}
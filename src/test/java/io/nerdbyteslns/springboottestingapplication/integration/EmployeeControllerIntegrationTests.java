@@ -2,24 +2,34 @@ package io.nerdbyteslns.springboottestingapplication.integration;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeCache;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeCreateStatus;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
 import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.search.EmployeeSearchIndex;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 public class EmployeeControllerIntegrationTests {
 
     @Autowired
@@ -27,6 +37,10 @@ public class EmployeeControllerIntegrationTests {
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+    @Autowired
     private ObjectMapper objectMapper;
 
     private List<Employee> employees;
@@ -34,6 +48,8 @@ public class EmployeeControllerIntegrationTests {
     @BeforeEach
     void setUp() {
         employeeRepository.deleteAll();
+        employeeCache.invalidateAll();
+        searchIndex.clear();
 
         employees = List.of(
                 Employee.builder()
@@ -75,6 +91,29 @@ public class EmployeeControllerIntegrationTests {
         }).andDo(MockMvcResultHandlers.print());
     }
 
+    @DisplayName("Junit 5 Test to create Employees in bulk")
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_thenInsertNewAndRejectDuplicates() throws Exception {
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build());
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/batch")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("DUPLICATE"))
+                .andDo(MockMvcResultHandlers.print());
+        assert employeeRepository.count() == 2;
+    }
+
     @DisplayName("Junit 5 Test to get all Employees")
     @Test
     public void givenEmployees_whenGetAllEmployees_thenReturnAllEmployees() throws Exception {
@@ -82,7 +121,10 @@ public class EmployeeControllerIntegrationTests {
         employeeRepository.saveAll(employees);
 
         // when - action or the behaviour that we are going test
-        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
 
         // then - verify the output
         response.andExpect(result -> {
@@ -96,6 +138,48 @@ public class EmployeeControllerIntegrationTests {
     }
 
 
+    @DisplayName("Junit 5 Test to export all Employees as NDJSON")
+    @Test
+    public void givenEmployees_whenExportEmployees_thenStreamEveryEmployee() throws Exception {
+        // given - precondition or setup
+        employeeRepository.saveAll(employees);
+
+        // when - action or the behaviour that we are going test
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/export")
+                        .header("Accept", "application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+                    assert lines.length == employees.size();
+                    assert objectMapper.readValue(lines[1], Employee.class).getEmail().equals(employees.get(1).getEmail());
+                });
+    }
+
+    @DisplayName("Junit 5 Test to search Employees by prefix")
+    @Test
+    public void givenCreatedEmployees_whenSearchEmployees_thenReturnPrefixMatches() throws Exception {
+        // given - precondition or setup
+        for (Employee employee : employees) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                    .contentType("application/json")
+                    .content(objectMapper.writeValueAsString(employee)));
+        }
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("prefix", "ja"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("jane.doe@example.com"));
+    }
+
     @DisplayName("Junit 5 Test to get Employee by Id")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() throws Exception {
@@ -135,6 +219,24 @@ public class EmployeeControllerIntegrationTests {
         response.andExpect(MockMvcResultMatchers.content().string(""));
     }
 
+    @DisplayName("Junit 5 Test to scrape service, repository and outcome metrics")
+    @Test
+    public void givenUnknownEmployeeId_whenScrapePrometheus_thenExposeTimersAndNotFoundCounter() throws Exception {
+        // given - precondition or setup
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", 1L));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString(
+                        "employee_service_seconds_bucket{class=\"io.nerdbyteslns.springboottestingapplication.service.impl.EmployeeServiceImpl\",exception=\"none\",method=\"getEmployeeById\",le=\"+Inf\"}")))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString(
+                        "employee_outcomes_total{operation=\"get\",outcome=\"not_found\"}")));
+    }
+
 
     @DisplayName("Junit 5 Test to update Employee by Id")
     @Test
@@ -151,7 +253,6 @@ public class EmployeeControllerIntegrationTests {
         emp.setFirstName("Jane");
         emp.setLastName("Doe");
         emp.setEmail("janedoe@gmail.com");
-        employeeRepository.save(emp);
 
         // when - action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
@@ -167,6 +268,196 @@ public class EmployeeControllerIntegrationTests {
         }).andDo(MockMvcResultHandlers.print());
     }
 
+    @DisplayName("Junit 5 Test to update Employee by Id with a stale version - Conflict")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenReturnConflict() throws Exception {
+        // given - precondition or setup
+        Employee emp = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@gmail.com")
+                .build());
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", emp.getId())
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(emp)));
+        emp.setFirstName("Jane");
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", emp.getId())
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(emp)));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+        assert employeeRepository.findById(emp.getId()).get().getFirstName().equals("John");
+    }
+
+    @DisplayName("Junit 5 Test to revalidate Employee and Employees with ETags")
+    @Test
+    public void givenETags_whenGetAfterWrites_thenReturnNotModifiedUntilDataChanges() throws Exception {
+        // given - precondition or setup
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees.get(0)))).andReturn();
+        Employee emp = objectMapper.readValue(created.getResponse().getContentAsString(), Employee.class);
+        String employeeTag = created.getResponse().getHeader("ETag");
+        String collectionTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("limit", "10"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when - action or the behaviour that we are going test
+        ResultActions unchangedEmployee = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", emp.getId())
+                .header("If-None-Match", employeeTag));
+        ResultActions unchangedCollection = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("limit", "10")
+                .header("If-None-Match", collectionTag));
+        emp.setFirstName("Johnny");
+        ResultActions update = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", emp.getId())
+                .header("If-Match", employeeTag)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(emp)));
+        ResultActions staleUpdate = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", emp.getId())
+                .header("If-Match", employeeTag)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(emp)));
+        ResultActions changedEmployee = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", emp.getId())
+                .header("If-None-Match", employeeTag));
+        ResultActions changedCollection = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("limit", "10")
+                .header("If-None-Match", collectionTag));
+
+        // then - verify the output
+        unchangedEmployee.andExpect(MockMvcResultMatchers.status().isNotModified());
+        unchangedCollection.andExpect(MockMvcResultMatchers.status().isNotModified());
+        update.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"" + emp.getId() + "-1\""));
+        staleUpdate.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        changedEmployee.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").value("Johnny"));
+        changedCollection.andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @DisplayName("Junit 5 Test to get only the requested Employee fields")
+    @Test
+    public void givenFields_whenGetEmployees_thenReturnOnlyThoseFields() throws Exception {
+        // given - precondition or setup
+        Employee emp = employeeRepository.saveAll(employees).get(0);
+
+        // when - action or the behaviour that we are going test
+        ResultActions all = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("fields", "email"));
+        ResultActions page = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .param("limit", "1")
+                .param("fields", "id,lastName"));
+        ResultActions one = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", emp.getId())
+                .param("fields", "email"));
+
+        // then - verify the output
+        all.andExpect(MockMvcResultMatchers.request().asyncStarted());
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(all.andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(employees.size()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value(emp.getEmail()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").doesNotExist());
+        page.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(emp.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(emp.getId()));
+        one.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"" + emp.getId() + "-0\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email").value(emp.getEmail()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").doesNotExist());
+    }
+
+    @DisplayName("Junit 5 Test to follow Employee changes from a cursor")
+    @Test
+    public void givenCursor_whenEmployeesChange_thenFeedReturnsLatestChangePerEmployee() throws Exception {
+        // given - precondition or setup
+        String cursor = objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes"))
+                .andReturn().getResponse().getContentAsString()).get("cursor").asText();
+        List<Employee> saved = new ArrayList<>();
+        for (Employee employee : employees) {
+            saved.add(objectMapper.readValue(mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                    .contentType("application/json")
+                    .content(objectMapper.writeValueAsString(employee))).andReturn().getResponse().getContentAsString(), Employee.class));
+        }
+
+        // when - action or the behaviour that we are going test
+        saved.get(0).setFirstName("Johnny");
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", saved.get(0).getId())
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(saved.get(0))));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}", saved.get(1).getId()));
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                .param("since", cursor));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].id").value(saved.get(0).getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type").value("UPDATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].version").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].id").value(saved.get(1).getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].type").value("DELETED"));
+    }
+
+    @DisplayName("Junit 5 Test to create Employees through the write-behind queue")
+    @Test
+    public void givenAsyncCreates_whenFlushed_thenCreateOnceAndRejectDuplicate() throws Exception {
+        // given - precondition or setup
+        Employee duplicate = Employee.builder()
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email(employees.get(0).getEmail())
+                .build();
+
+        // when - action or the behaviour that we are going test
+        ResultActions first = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees").param("async", "true")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees.get(0))));
+        ResultActions second = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees").param("async", "true")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(duplicate)));
+
+        // then - verify the output
+        first.andExpect(MockMvcResultMatchers.status().isAccepted());
+        second.andExpect(MockMvcResultMatchers.status().isAccepted());
+        EmployeeCreateStatus firstStatus = awaitFlushed(first.andReturn().getResponse().getHeader("Location"));
+        EmployeeCreateStatus secondStatus = awaitFlushed(second.andReturn().getResponse().getHeader("Location"));
+        Assertions.assertThat(firstStatus.getStatus()).isEqualTo(EmployeeCreateStatus.Status.CREATED);
+        Assertions.assertThat(secondStatus.getStatus()).isEqualTo(EmployeeCreateStatus.Status.DUPLICATE);
+        Assertions.assertThat(employeeRepository.findById(firstStatus.getId())).isPresent();
+        Assertions.assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    private EmployeeCreateStatus awaitFlushed(String location) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            String body = mockMvc.perform(MockMvcRequestBuilders.get(location)).andReturn().getResponse().getContentAsString();
+            EmployeeCreateStatus status = objectMapper.readValue(body, EmployeeCreateStatus.class);
+            if (status.getStatus() != EmployeeCreateStatus.Status.PENDING || System.nanoTime() > deadline) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @DisplayName("Junit 5 Test to read per-statement SQL statistics")
+    @Test
+    public void givenEmployeeRequests_whenGetSqlStats_thenListExecutedStatements() throws Exception {
+        // given - precondition or setup
+        mockMvc.perform(MockMvcRequestBuilders.delete("/actuator/sqlstats"));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employees.get(0))));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/employees").param("limit", "10"));
+
+        // when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/sqlstats"));
+
+        // then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.statement =~ /insert into employees.*/)].count").value(Matchers.contains(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.statement =~ /select .* from employees .*/)].rows").value(Matchers.hasItem(1)));
+    }
+
     @DisplayName("Junit 5 Test to delete Employee by Id")
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenNoContent() throws Exception {
@@ -0,0 +1,131 @@
+package io.nerdbyteslns.springboottestingapplication.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeCache;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class EmployeeSecondLevelCacheIntegrationTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employeeCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build());
+        statistics.clear();
+    }
+
+    @DisplayName("Junit 5 Test for serving a repeated findByEmail from the query and entity caches")
+    @Test
+    public void givenRepeatedLookup_whenFindByEmail_thenSecondLookupRunsNoStatement() {
+        // given - precondition or setup
+        employeeRepository.findByEmail(employee.getEmail());
+        long statements = statistics.getPrepareStatementCount();
+
+        // when - action or the behaviour that we are going test
+        Optional<Employee> cached = employeeRepository.findByEmail(employee.getEmail());
+
+        // then - verify the output
+        assertThat(cached).get().extracting(Employee::getFirstName).isEqualTo("John");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "employees").meters())
+                .isNotEmpty();
+    }
+
+    @DisplayName("Junit 5 Test for evicting cached employees on update and delete")
+    @Test
+    public void givenCachedEmployee_whenUpdateAndDelete_thenLookupsSeeTheChange() {
+        // given - precondition or setup
+        employeeRepository.findByEmail(employee.getEmail());
+        employeeRepository.findById(employee.getId());
+        employee.setFirstName("Johnny");
+
+        // when - action or the behaviour that we are going test
+        employeeService.updateEmployee(employee);
+        Optional<Employee> afterUpdate = employeeRepository.findByEmail(employee.getEmail());
+        Optional<Employee> byIdAfterUpdate = employeeRepository.findById(employee.getId());
+        employeeService.deleteEmployee(employee.getId());
+        Optional<Employee> afterDelete = employeeRepository.findByEmail(employee.getEmail());
+        Optional<Employee> byIdAfterDelete = employeeRepository.findById(employee.getId());
+
+        // then - verify the output
+        assertThat(afterUpdate).get().extracting(Employee::getFirstName).isEqualTo("Johnny");
+        assertThat(byIdAfterUpdate).get().extracting(Employee::getVersion).isEqualTo(1L);
+        assertThat(afterDelete).isEmpty();
+        assertThat(byIdAfterDelete).isEmpty();
+    }
+
+    @DisplayName("Junit 5 Test for keeping other cached employees when one is updated or deleted")
+    @Test
+    public void givenCachedEmployees_whenUpdateAndDeleteOne_thenOthersStayCached() {
+        // given - precondition or setup
+        Employee other = employeeService.saveEmployee(Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build());
+        employeeRepository.findById(other.getId());
+        employee.setFirstName("Johnny");
+
+        // when - action or the behaviour that we are going test
+        employeeService.updateEmployee(employee);
+        employeeService.deleteEmployee(employee.getId());
+        long statements = statistics.getPrepareStatementCount();
+        Optional<Employee> cached = employeeRepository.findById(other.getId());
+
+        // then - verify the output
+        assertThat(cached).get().extracting(Employee::getFirstName).isEqualTo("Jane");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @DisplayName("Junit 5 Test for full-table reads bypassing the second-level cache")
+    @Test
+    public void givenEmptyRegion_whenListEmployees_thenRowsAreNotCached() {
+        // given - precondition or setup
+        entityManagerFactory.getCache().evictAll();
+
+        // when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeesPage(null, 10);
+        employeeService.exportEmployees(exported -> {
+        });
+
+        // then - verify the output
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId())).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+package io.nerdbyteslns.springboottestingapplication.integration;
+
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeCache;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two separate H2 databases stand in for the primary and its replica; nothing copies rows between them,
+// so where a row can be read from shows which one a query was routed to
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb",
+        "employee.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1"
+})
+public class ReplicaRoutingIntegrationTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employeeCache.invalidateAll();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists employees (id bigint primary key, email varchar(255) not null, "
+                + "first_name varchar(255) not null, last_name varchar(255) not null, version bigint not null)");
+        replica.update("delete from employees");
+    }
+
+    @DisplayName("Junit 5 Test for writing employees to the primary only")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenWrittenToPrimary() {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        // when - action or the behaviour that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        // then - verify the output
+        assertThat(primary.queryForObject("select count(*) from employees where id = ?", Integer.class,
+                savedEmployee.getId())).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from employees", Integer.class)).isZero();
+    }
+
+    @DisplayName("Junit 5 Test for reading employees from the replica")
+    @Test
+    public void givenEmployeeOnReplicaOnly_whenGetEmployees_thenReadFromReplica() {
+        // given - precondition or setup
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build());
+        employeeCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+        replica.update("insert into employees (id, email, first_name, last_name, version) values (?, ?, ?, ?, ?)",
+                9999L, "jane.doe@example.com", "Jane", "Doe", 0L);
+
+        // when - action or the behaviour that we are going test
+        List<Employee> employees = employeeService.getAllEmployees();
+        Optional<Employee> written = employeeService.getEmployeeById(savedEmployee.getId());
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("jane.doe@example.com");
+        assertThat(written).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package io.nerdbyteslns.springboottestingapplication.limit;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    @DisplayName("Junit 5 Test for refusing permits beyond the limit")
+    @Test
+    public void givenLimitReached_whenTryAcquire_thenReturnEmpty() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new EmployeeProperties.Admission.Limit(4, 2, 8, Duration.ofSeconds(1)), admission(1, 0), 2);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+
+        // when - action or the behaviour that we are going test
+        Optional<AdaptiveConcurrencyLimiter.Permit> rejected = limiter.tryAcquire();
+        permits.get(0).releaseWithoutSample();
+        Optional<AdaptiveConcurrencyLimiter.Permit> admitted = limiter.tryAcquire();
+
+        // then - verify the output
+        assertThat(rejected).isEmpty();
+        assertThat(admitted).isPresent();
+        assertThat(limiter.inFlight()).isEqualTo(4);
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @DisplayName("Junit 5 Test for growing the limit while fast and busy and cutting it when slow")
+    @Test
+    public void givenLatencySamples_whenRelease_thenIncreaseAdditivelyAndDecreaseMultiplicatively() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter fast = new AdaptiveConcurrencyLimiter(
+                new EmployeeProperties.Admission.Limit(4, 2, 8, Duration.ofSeconds(10)), admission(1, 0), 1);
+        AdaptiveConcurrencyLimiter slow = new AdaptiveConcurrencyLimiter(
+                new EmployeeProperties.Admission.Limit(4, 2, 8, Duration.ZERO), admission(1, 0), 1);
+
+        // when - action or the behaviour that we are going test
+        AdaptiveConcurrencyLimiter.Permit first = fast.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit second = fast.tryAcquire().orElseThrow();
+        second.release();
+        first.release();
+        AdaptiveConcurrencyLimiter.Permit slowPermit = slow.tryAcquire().orElseThrow();
+        busyWait();
+        slowPermit.release();
+
+        // then - verify the output
+        // the later release saw one request in flight against a limit of five, so it left the limit alone
+        assertThat(fast.limit()).isEqualTo(5);
+        assertThat(slow.limit()).isEqualTo(2);
+        assertThat(fast.inFlight()).isZero();
+    }
+
+    @DisplayName("Junit 5 Test for cutting the limit only when a window has more slow samples than tolerated")
+    @Test
+    public void givenSlowSamplesInWindows_whenRelease_thenDecreaseOnlyPastTheTolerance() throws InterruptedException {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new EmployeeProperties.Admission.Limit(4, 2, 8, Duration.ofMillis(20)), admission(4, 0.25), 1);
+
+        // when - action or the behaviour that we are going test
+        sample(limiter, true);
+        sample(limiter, false);
+        sample(limiter, false);
+        sample(limiter, false);
+        int afterToleratedWindow = limiter.limit();
+        sample(limiter, true);
+        sample(limiter, true);
+        sample(limiter, false);
+        int beforeWindowEnds = limiter.limit();
+        sample(limiter, false);
+
+        // then - verify the output
+        assertThat(afterToleratedWindow).isEqualTo(4);
+        assertThat(beforeWindowEnds).isEqualTo(4);
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @DisplayName("Junit 5 Test for sharing one limit across stripes without rounding it up")
+    @Test
+    public void givenSeveralStripes_whenTryAcquireAndReleaseSlowly_thenShareOneLimit() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new EmployeeProperties.Admission.Limit(5, 1, 10, Duration.ZERO), admission(1, 0), 4);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+
+        // when - action or the behaviour that we are going test
+        Optional<AdaptiveConcurrencyLimiter.Permit> rejected = limiter.tryAcquire();
+        busyWait();
+        permits.get(0).release();
+
+        // then - verify the output
+        assertThat(rejected).isEmpty();
+        // one slow window on one stripe cuts the whole limit
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(limiter.inFlight()).isEqualTo(4);
+        assertThat(limiter.tryAcquire()).isEmpty();
+    }
+
+    private static EmployeeProperties.Admission admission(int sampleWindow, double slowSampleTolerance) {
+        EmployeeProperties.Admission admission = new EmployeeProperties.Admission();
+        admission.setBackoffRatio(0.5);
+        admission.setSampleWindow(sampleWindow);
+        admission.setSlowSampleTolerance(slowSampleTolerance);
+        return admission;
+    }
+
+    // one request on its own, so a fast sample never counts as busy and the limit only moves on the window
+    private static void sample(AdaptiveConcurrencyLimiter limiter, boolean slow) throws InterruptedException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+        if (slow) {
+            Thread.sleep(30);
+        }
+        permit.release();
+    }
+
+    private static void busyWait() {
+        long start = System.nanoTime();
+        while (System.nanoTime() == start) {
+            Thread.onSpinWait();
+        }
+    }
+}
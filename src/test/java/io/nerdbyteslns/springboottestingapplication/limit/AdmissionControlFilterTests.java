@@ -0,0 +1,79 @@
+package io.nerdbyteslns.springboottestingapplication.limit;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionControlFilterTests {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getAdmission().setStripes(1);
+        properties.getAdmission().setRetryAfter(Duration.ofSeconds(2));
+        properties.getAdmission().setReads(new EmployeeProperties.Admission.Limit(1, 1, 1, Duration.ofSeconds(1)));
+        properties.getAdmission().setWrites(new EmployeeProperties.Admission.Limit(1, 1, 1, Duration.ofSeconds(1)));
+        filter = new AdmissionControlFilter(properties);
+    }
+
+    @DisplayName("Junit 5 Test for shedding a read with 503 while the read limit is in use")
+    @Test
+    public void givenReadLimitInUse_whenAnotherReadArrives_thenRespondServiceUnavailable() throws Exception {
+        // given - precondition or setup
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        MockFilterChain holdingChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request,
+                                   HttpServletResponse response) throws ServletException, IOException {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/2"), shed, new MockFilterChain());
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/employees"), write, new MockFilterChain());
+            }
+        });
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+
+        // when - action or the behaviour that we are going test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), admitted, holdingChain);
+
+        // then - verify the output
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(write.getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("Junit 5 Test for leaving requests outside the Employee API alone")
+    @Test
+    public void givenNonApiPath_whenFilter_thenNotLimited() throws Exception {
+        // given - precondition or setup
+        MockHttpServletResponse actuator = new MockHttpServletResponse();
+        MockFilterChain holdingChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request,
+                                   HttpServletResponse response) throws ServletException, IOException {
+                filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), actuator, new MockFilterChain());
+            }
+        });
+
+        // when - action or the behaviour that we are going test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/1"), new MockHttpServletResponse(), holdingChain);
+
+        // then - verify the output
+        assertThat(actuator.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,103 @@
+package io.nerdbyteslns.springboottestingapplication.queue;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeCreateStatus;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import io.nerdbyteslns.springboottestingapplication.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeCreateQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeCreateQueue createQueue;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getWriteBehind().setCapacity(2);
+        createQueue = new EmployeeCreateQueue(employeeService, properties);
+        employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+    }
+
+    @DisplayName("Junit 5 Test for queueing a create as pending")
+    @Test
+    public void givenEmployeeObject_whenSubmit_thenReturnPendingStatus() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        Optional<EmployeeCreateStatus> status = createQueue.submit(employee);
+
+        // then - verify the output
+        assertThat(status).isPresent();
+        assertThat(status.get().getStatus()).isEqualTo(EmployeeCreateStatus.Status.PENDING);
+        assertThat(createQueue.getStatus(status.get().getTrackingId())).contains(status.get());
+        assertThat(createQueue.size()).isEqualTo(1);
+    }
+
+    @DisplayName("Junit 5 Test for refusing creates once the queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenReturnEmpty() {
+        // given - precondition or setup
+        createQueue.submit(employee);
+        createQueue.submit(employee);
+
+        // when - action or the behaviour that we are going test
+        Optional<EmployeeCreateStatus> status = createQueue.submit(employee);
+
+        // then - verify the output
+        assertThat(status).isEmpty();
+        assertThat(createQueue.size()).isEqualTo(2);
+    }
+
+    @DisplayName("Junit 5 Test for flushing queued creates as one batch")
+    @Test
+    public void givenQueuedCreates_whenFlush_thenSaveTogetherAndRecordOutcome() {
+        // given - precondition or setup
+        Employee duplicate = Employee.builder()
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+        String created = createQueue.submit(employee).orElseThrow().getTrackingId();
+        String rejected = createQueue.submit(duplicate).orElseThrow().getTrackingId();
+        employee.setId(1L);
+        given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+                EmployeeBatchResult.created(0, employee),
+                EmployeeBatchResult.rejected(1, EmployeeBatchResult.Status.DUPLICATE, duplicate, "already exists")));
+
+        // when - action or the behaviour that we are going test
+        int flushed = createQueue.flush();
+
+        // then - verify the output
+        assertThat(flushed).isEqualTo(2);
+        then(employeeService).should().saveEmployees(List.of(employee, duplicate));
+        assertThat(createQueue.getStatus(created)).get()
+                .extracting(EmployeeCreateStatus::getStatus, EmployeeCreateStatus::getId)
+                .containsExactly(EmployeeCreateStatus.Status.CREATED, 1L);
+        assertThat(createQueue.getStatus(rejected)).get()
+                .extracting(EmployeeCreateStatus::getStatus)
+                .isEqualTo(EmployeeCreateStatus.Status.DUPLICATE);
+    }
+}
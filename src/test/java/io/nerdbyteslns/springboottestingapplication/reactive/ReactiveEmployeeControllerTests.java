@@ -0,0 +1,220 @@
+package io.nerdbyteslns.springboottestingapplication.reactive;
+
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
+import io.nerdbyteslns.springboottestingapplication.reactive.model.ReactiveEmployee;
+import io.nerdbyteslns.springboottestingapplication.reactive.repository.ReactiveEmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = ReactiveEmployeeApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private List<ReactiveEmployee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll().block();
+
+        employees = employeeRepository.saveAll(List.of(
+                ReactiveEmployee.builder()
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe@example.com")
+                        .build(),
+                ReactiveEmployee.builder()
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .email("jane.doe@example.com")
+                        .build()
+        )).collectList().block();
+    }
+
+    @DisplayName("Junit 5 Test to create a new Employee on the reactive stack")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given - precondition or setup
+        ReactiveEmployee employee = ReactiveEmployee.builder()
+                .firstName("Jim")
+                .lastName("Beam")
+                .email("jim.beam@example.com")
+                .build();
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .bodyValue(employee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.email").isEqualTo("jim.beam@example.com")
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @DisplayName("Junit 5 Test to create an Employee with an existing email on the reactive stack - Conflict")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturnConflict() {
+        // given - precondition or setup
+        ReactiveEmployee duplicate = ReactiveEmployee.builder()
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .bodyValue(duplicate)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isEqualTo(409);
+    }
+
+    @DisplayName("Junit 5 Test to stream all Employees as NDJSON on the reactive stack")
+    @Test
+    public void givenEmployees_whenGetAllEmployees_thenStreamEveryRow() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then - verify the output
+        StepVerifier.create(response.expectStatus().isOk().returnResult(ReactiveEmployee.class).getResponseBody())
+                .expectNextMatches(employee -> employee.getEmail().equals("john.doe@example.com"))
+                .expectNextMatches(employee -> employee.getEmail().equals("jane.doe@example.com"))
+                .verifyComplete();
+    }
+
+    @DisplayName("Junit 5 Test to get Employees by name and by email on the reactive stack")
+    @Test
+    public void givenEmployees_whenGetByNameAndByEmail_thenReturnMatches() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec byName = webTestClient.get()
+                .uri("/api/employees/by-name?firstName=Jane&lastName=Doe")
+                .exchange();
+        WebTestClient.ResponseSpec byEmail = webTestClient.get()
+                .uri("/api/employees/by-email?email=john.doe@example.com")
+                .exchange();
+
+        // then - verify the output
+        byName.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo("jane.doe@example.com");
+        byEmail.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John");
+        StepVerifier.create(employeeRepository.findByNativeSQLNamedParams("Jane", "Doe"))
+                .expectNextMatches(employee -> employee.getEmail().equals("jane.doe@example.com"))
+                .verifyComplete();
+    }
+
+    @DisplayName("Junit 5 Test for the reactive name lookups with indexed and named parameters")
+    @Test
+    public void givenEmployees_whenFindByNameWithSql_thenReturnMatchesAndNameViews() {
+        // given - precondition or setup
+        employeeRepository.save(ReactiveEmployee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe2@example.com")
+                .build()).block();
+
+        // when - action or the behaviour that we are going test
+        List<ReactiveEmployee> byIndexedParams = employeeRepository.findByNativeSQL("Jane", "Doe").collectList().block();
+        List<EmployeeNameView> firstPage = employeeRepository.findNamesByNativeSQL("Jane", "Doe", 1, 0).collectList().block();
+        List<EmployeeNameView> secondPage = employeeRepository.findNamesByNativeSQLNamedParams("Jane", "Doe", 1, 1)
+                .collectList().block();
+
+        // then - verify the output
+        assertThat(byIndexedParams).extracting(ReactiveEmployee::getEmail)
+                .containsExactly("jane.doe@example.com", "jane.doe2@example.com");
+        assertThat(firstPage).extracting(EmployeeNameView::getFirstName, EmployeeNameView::getEmail)
+                .containsExactly(tuple("Jane", "jane.doe@example.com"));
+        assertThat(secondPage).extracting(EmployeeNameView::getEmail).containsExactly("jane.doe2@example.com");
+    }
+
+    @DisplayName("Junit 5 Test to update an Employee with a stale version on the reactive stack - Conflict")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenReturnConflict() {
+        // given - precondition or setup
+        ReactiveEmployee employee = employees.get(0);
+        employee.setFirstName("Johnny");
+        webTestClient.put().uri("/api/employees/{id}", employee.getId())
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(1);
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", employee.getId())
+                .bodyValue(employee)
+                .exchange();
+        WebTestClient.ResponseSpec missing = webTestClient.put().uri("/api/employees/{id}", employee.getId() + 1000)
+                .bodyValue(employee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isEqualTo(409);
+        missing.expectStatus().isNotFound();
+    }
+
+    @DisplayName("Junit 5 Test to delete an Employee by Id on the reactive stack")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenNoContentThenNotFound() {
+        // given - precondition or setup
+        Long employeeId = employees.get(0).getId();
+
+        // when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec deleted = webTestClient.delete().uri("/api/employees/{id}", employeeId).exchange();
+        WebTestClient.ResponseSpec deletedAgain = webTestClient.delete().uri("/api/employees/{id}", employeeId).exchange();
+
+        // then - verify the output
+        deleted.expectStatus().isNoContent();
+        deletedAgain.expectStatus().isNotFound();
+        assertThat(employeeRepository.count().block()).isEqualTo(1L);
+    }
+
+    @DisplayName("Junit 5 Test that the reactive stack starts without JDBC or JPA")
+    @Test
+    public void givenReactiveApplication_whenStarted_thenNoDataSourceOrEntityManagerFactory() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        String[] dataSources = applicationContext.getBeanNamesForType(DataSource.class);
+        String[] entityManagerFactories = applicationContext.getBeanNamesForType(EntityManagerFactory.class);
+
+        // then - verify the output
+        assertThat(dataSources).isEmpty();
+        assertThat(entityManagerFactories).isEmpty();
+    }
+}
@@ -1,16 +1,25 @@
 package io.nerdbyteslns.springboottestingapplication.repository;
 
 
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeField;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeNameView;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 public class EmployeeRepositoryTests {
@@ -44,6 +53,49 @@ public class EmployeeRepositoryTests {
         assertThat(savedEmployee.getId()).isPositive();
     }
 
+    // JUnit test for unique email constraint
+    @DisplayName("JUnit test for unique email constraint")
+    @Test
+    public void givenExistingEmail_whenSaveAndFlush_thenThrowsDataIntegrityViolation() {
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee duplicate = Employee.builder()
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email(employee.getEmail())
+                .build();
+
+        // when - action or the behaviour that we are going test
+
+        // then - verify the output
+        assertThatThrownBy(() -> employeeRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // JUnit test for batch insert and bulk email check operations
+    @DisplayName("JUnit test for batch insert and bulk email check operations")
+    @Test
+    public void givenEmployeesList_whenPersistAll_thenFindExistingEmailsReturnsTheirEmails() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@exmple.com")
+                .build();
+
+        // when - action or the behaviour that we are going test
+        employeeRepository.persistAll(List.of(employee, employee2), 1);
+        List<String> existingEmails = employeeRepository.findExistingEmails(
+                List.of(employee.getEmail(), employee2.getEmail(), "nobody@exmple.com"));
+
+        // then - verify the output
+        assertThat(employee.getId()).isPositive();
+        assertThat(employee2.getId()).isPositive();
+        assertThat(existingEmails).containsExactlyInAnyOrder(employee.getEmail(), employee2.getEmail());
+    }
+
     // JUnit test for get all employees operation
     @DisplayName("JUnit test for get all employees operation")
     @Test
@@ -73,6 +125,55 @@ public class EmployeeRepositoryTests {
         assertThat(employeeList.size()).isEqualTo(2);
     }
 
+    // JUnit test for keyset pagination operation
+    @DisplayName("JUnit test for keyset pagination operation")
+    @Test
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@exmple.com")
+                .build();
+        Employee employee3 = Employee.builder()
+                .firstName("Bob")
+                .lastName("Smith")
+                .email("bobsmith@exmple.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2, employee3));
+
+        // when - action or the behaviour that we are going test
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), Limit.of(1));
+
+        // then - verify the output
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(employee2.getId());
+    }
+
+    // JUnit test for keyset pagination with a field projection operation
+    @DisplayName("JUnit test for keyset pagination with a field projection operation")
+    @Test
+    public void givenEmployeesList_whenFindFieldsByIdGreaterThan_thenReturnOnlySelectedFieldsAndId() {
+
+        // given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("janedoe@exmple.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+
+        // when - action or the behaviour that we are going test
+        List<Tuple> page = employeeRepository.findFieldsByIdGreaterThan(0L, EnumSet.of(EmployeeField.EMAIL), 10);
+
+        // then - verify the output
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).getElements()).extracting(element -> element.getAlias()).containsExactly("id", "email");
+        assertThat(page.get(0).get("id", Long.class)).isEqualTo(employee.getId());
+        assertThat(page.get(1).get("email")).isEqualTo("janedoe@exmple.com");
+    }
+
     // JUnit test for get employee by id operation
     @DisplayName("JUnit test for get employee by id operation")
     @Test
@@ -258,4 +359,94 @@ public class EmployeeRepositoryTests {
         assertThat(employeeFound.getFirstName()).isEqualTo(firstName);
         assertThat(employeeFound.getLastName()).isEqualTo(lastName);
     }
+
+    // JUnit test for optimistic-locked update operation
+    @DisplayName("JUnit test for optimistic-locked update operation")
+    @Test
+    public void givenEmployeeVersion_whenUpdateIfVersionMatches_thenOnlyCurrentVersionIsUpdated() {
+        // given - precondition or setup
+        long id = employeeRepository.saveAndFlush(employee).getId();
+
+        // when - action or the behaviour that we are going test
+        int updated = employeeRepository.updateIfVersionMatches(id, 0L, "Jane", "Doe", "janedoe@example.com");
+        int stale = employeeRepository.updateIfVersionMatches(id, 0L, "Jim", "Doe", "jimdoe@example.com");
+        int missing = employeeRepository.updateIfVersionMatches(id + 1, 0L, "Jim", "Doe", "jimdoe@example.com");
+
+        // then - verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(missing).isZero();
+        Employee updatedEmployee = employeeRepository.findById(id).get();
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Jane");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(1L);
+    }
+
+    // JUnit test for set-based delete operation
+    @DisplayName("JUnit test for single-statement delete operations")
+    @Test
+    public void givenEmployees_whenDeleteByIdStatements_thenReturnAffectedRows() {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().firstName("Jane").lastName("Doe").email("janedoe@example.com").build();
+        Employee employee2 = Employee.builder().firstName("Jim").lastName("Doe").email("jimdoe@example.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, employee1, employee2));
+
+        // when - action or the behaviour that we are going test
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
+        int deletedAgain = employeeRepository.deleteEmployeeById(employee.getId());
+        List<Long> bulkDeleted = employeeRepository.deleteEmployeesByIds(List.of(employee.getId(), employee1.getId(), employee2.getId()));
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(bulkDeleted).containsExactlyInAnyOrder(employee1.getId(), employee2.getId());
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    // JUnit test for paged name search operation
+    @DisplayName("JUnit test for paged name search operation")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByLastNameAndFirstName_thenReturnAllOfThemPaged() {
+
+        // given - precondition or setup
+        Employee namesake = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe2@exmple.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, namesake));
+
+        // when - action or the behaviour that we are going test
+        List<Employee> firstPage = employeeRepository.findByLastNameAndFirstNameOrderByIdAsc("Doe", "John", PageRequest.of(0, 1));
+        List<Employee> secondPage = employeeRepository.findByLastNameAndFirstNameOrderByIdAsc("Doe", "John", PageRequest.of(1, 1));
+
+        // then - verify the output
+        assertThat(firstPage).extracting(Employee::getEmail).containsExactly(employee.getEmail());
+        assertThat(secondPage).extracting(Employee::getEmail).containsExactly(namesake.getEmail());
+    }
+
+    // JUnit test for projection name lookups
+    @DisplayName("JUnit test for projection name lookups")
+    @Test
+    public void givenEmployeeName_whenFindNames_thenEveryQueryStyleReturnsTheSameProjection() {
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // when - action or the behaviour that we are going test
+        List<List<EmployeeNameView>> results = List.of(
+                employeeRepository.findNamesByJPQL("John", "Doe", pageable),
+                employeeRepository.findNamesByJPQLNamedParams("John", "Doe", pageable),
+                employeeRepository.findNamesByNativeSQL("John", "Doe", pageable),
+                employeeRepository.findNamesByNativeSQLNamedParams("John", "Doe", pageable));
+
+        // then - verify the output
+        assertThat(results).allSatisfy(names -> {
+            assertThat(names).hasSize(1);
+            assertThat(names.get(0).getId()).isEqualTo(employee.getId());
+            assertThat(names.get(0).getFirstName()).isEqualTo("John");
+            assertThat(names.get(0).getLastName()).isEqualTo("Doe");
+            assertThat(names.get(0).getEmail()).isEqualTo(employee.getEmail());
+        });
+    }
 }
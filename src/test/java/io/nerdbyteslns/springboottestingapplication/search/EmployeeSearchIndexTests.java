@@ -0,0 +1,89 @@
+package io.nerdbyteslns.springboottestingapplication.search;
+
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeSearchIndexTests {
+
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+    @DisplayName("Junit 5 Test for finding every prefix match once the index spans many blocks")
+    @Test
+    public void givenEmployeesAddedOneByOneAndInPages_whenSearch_thenReturnAllMatchesInTermOrder() {
+        // given - precondition or setup
+        List<Employee> employees = new ArrayList<>(LongStream.rangeClosed(1, 3000).mapToObj(EmployeeSearchIndexTests::employee).toList());
+        Collections.shuffle(employees, new Random(42));
+        employees.subList(0, 500).forEach(searchIndex::add);
+        searchIndex.addAll(employees.subList(500, 3000));
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeSearchResult> results = searchIndex.search("Last12", 1000);
+
+        // then - verify the output
+        List<Long> expected = LongStream.rangeClosed(1, 3000).boxed()
+                .filter(id -> ("last" + id).startsWith("last12"))
+                .sorted(Comparator.comparing(id -> "last" + id))
+                .toList();
+        assertThat(results).extracting(EmployeeSearchResult::getId).containsExactlyElementsOf(expected);
+        assertThat(searchIndex.search("first29", 5)).extracting(EmployeeSearchResult::getId)
+                .containsExactly(29L, 290L, 2900L, 2901L, 2902L);
+        assertThat(searchIndex.size()).isEqualTo(3000);
+    }
+
+    @DisplayName("Junit 5 Test for dropping the old terms when an employee is renamed or removed")
+    @Test
+    public void givenIndexedEmployees_whenRenameAndRemove_thenOldTermsNoLongerMatch() {
+        // given - precondition or setup
+        LongStream.rangeClosed(1, 1000).mapToObj(EmployeeSearchIndexTests::employee).forEach(searchIndex::add);
+        Employee renamed = employee(500);
+        renamed.setLastName("Zed");
+
+        // when - action or the behaviour that we are going test
+        searchIndex.add(renamed);
+        LongStream.rangeClosed(1, 400).forEach(searchIndex::remove);
+
+        // then - verify the output
+        assertThat(searchIndex.search("last500", 10)).isEmpty();
+        assertThat(searchIndex.search("zed", 10)).extracting(EmployeeSearchResult::getLastName).containsExactly("Zed");
+        assertThat(searchIndex.search("first500 z", 10)).extracting(EmployeeSearchResult::getId).containsExactly(500L);
+        assertThat(searchIndex.search("last3", 1000)).isEmpty();
+        assertThat(searchIndex.search("last4", 1000)).extracting(EmployeeSearchResult::getId).contains(401L, 499L);
+        assertThat(searchIndex.size()).isEqualTo(600);
+    }
+
+    @DisplayName("Junit 5 Test for matching an employee once even when several of its terms match")
+    @Test
+    public void givenEmployeeMatchingOnNameAndEmail_whenSearch_thenReturnItOnce() {
+        // given - precondition or setup
+        searchIndex.add(Employee.builder().id(1L).firstName("Zoë").lastName("Doe").email("zoe.doe@example.com").build());
+        searchIndex.add(Employee.builder().id(2L).firstName("Zack").lastName("Doe").email("zack@example.com").build());
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeSearchResult> results = searchIndex.search(" ZO", 10);
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeSearchResult::getId).containsExactly(1L);
+        assertThat(searchIndex.search("z", 1)).hasSize(1);
+        assertThat(searchIndex.search("", 10)).isEmpty();
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("employee" + id + "@example.com")
+                .build();
+    }
+}
@@ -1,9 +1,24 @@
 package io.nerdbyteslns.springboottestingapplication.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeCache;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeChangeCounter;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeEmailFilter;
+import io.nerdbyteslns.springboottestingapplication.cache.EmployeeJsonCache;
+import io.nerdbyteslns.springboottestingapplication.changes.EmployeeChangeLog;
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeBatchResult;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeChange;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeePage;
+import io.nerdbyteslns.springboottestingapplication.dto.EmployeeSearchResult;
+import io.nerdbyteslns.springboottestingapplication.exception.ResourceConflictException;
 import io.nerdbyteslns.springboottestingapplication.exception.ResourceNotFoundException;
+import io.nerdbyteslns.springboottestingapplication.metrics.EmployeeMetrics;
 import io.nerdbyteslns.springboottestingapplication.model.Employee;
 import io.nerdbyteslns.springboottestingapplication.repository.EmployeeRepository;
+import io.nerdbyteslns.springboottestingapplication.search.EmployeeSearchIndex;
 import io.nerdbyteslns.springboottestingapplication.service.impl.EmployeeServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,16 +26,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 
@@ -30,6 +58,33 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmployeeMetrics metrics;
+
+    @Spy
+    private EmployeeProperties properties = new EmployeeProperties();
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new EmployeeProperties());
+
+    @Spy
+    private EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+    @Spy
+    private EmployeeChangeCounter changeCounter = new EmployeeChangeCounter();
+
+    @Spy
+    private EmployeeJsonCache jsonCache = new EmployeeJsonCache(new ObjectMapper(), new EmployeeProperties());
+
+    @Spy
+    private EmployeeEmailFilter emailFilter = new EmployeeEmailFilter(new EmployeeProperties());
+
+    @Spy
+    private EmployeeChangeLog changeLog = new EmployeeChangeLog(new EmployeeProperties());
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -87,14 +142,14 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when - action or the behaviour that we are going test
         Employee savedEmployee = employeeService.saveEmployee(employee);
 
         // then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(anyString());
     }
 
 
@@ -103,7 +158,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(duplicateEmailViolation());
 
         // when - action or the behaviour that we are going test
 
@@ -115,6 +170,7 @@ public class EmployeeServiceTests {
         assertThrows(ResourceNotFoundException.class, () -> {
             employeeService.saveEmployee(employee);
         });
+        verify(metrics, times(2)).duplicate("save");
     }
 
 
@@ -123,7 +179,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException_2() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(duplicateEmailViolation());
 
         // when - action or the behaviour that we are going test
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -131,7 +187,135 @@ public class EmployeeServiceTests {
         });
 
         // then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(employeeCache, never()).put(any(Employee.class));
+    }
+
+    // JUnit test for saveEmployee method
+    @DisplayName("JUnit test for saveEmployee method rethrows other integrity violations")
+    @Test
+    public void givenNotNullViolation_whenSaveEmployee_thenRethrowsException() {
+        // given - precondition or setup
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), null,
+                        ConstraintViolationException.ConstraintKind.OTHER, "first_name"));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(violation);
+
+        // when - action or the behaviour that we are going test
+
+        // then - verify the output
+        assertThatThrownBy(() -> employeeService.saveEmployee(employee))
+                .isSameAs(violation);
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method reports a result per item")
+    @Test
+    public void givenMixedBatch_whenSaveEmployees_thenInsertValidItemsAndReportEachItem() {
+        // given - precondition or setup
+        Employee existing = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        Employee repeated = Employee.builder().firstName("John").lastName("Doe").email(employee.getEmail()).build();
+        Employee invalid = Employee.builder().firstName("Bob").email("bob.smith@example.com").build();
+        BDDMockito.given(employeeRepository.findExistingEmails(List.of(employee.getEmail(), existing.getEmail())))
+                .willReturn(List.of(existing.getEmail()));
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated, invalid));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::getStatus).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.INVALID);
+        assertThat(results).extracting(EmployeeBatchResult::getIndex).containsExactly(0, 1, 2, 3);
+        verify(employeeRepository).persistAll(List.of(employee), properties.getBatch().getJdbcBatchSize());
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method only looks up emails the filter can't rule out")
+    @Test
+    public void givenLoadedEmailFilter_whenSaveEmployees_thenLookUpPossibleDuplicatesOnly() {
+        // given - precondition or setup
+        Employee existing = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        emailFilter.rebuild(sink -> sink.accept(existing.getEmail()));
+        BDDMockito.given(employeeRepository.findExistingEmails(List.of(existing.getEmail())))
+                .willReturn(List.of(existing.getEmail()));
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::getStatus).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE);
+        assertThat(emailFilter.mightContain(employee.getEmail())).isTrue();
+        assertThat(emailFilter.falsePositiveRate()).isZero();
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method skips the lookup when no email can exist")
+    @Test
+    public void givenEmailsAbsentFromFilter_whenSaveEmployees_thenSkipLookup() {
+        // given - precondition or setup
+        emailFilter.rebuild(sink -> { });
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(employees);
+
+        // then - verify the output
+        assertThat(results).allMatch(result -> result.getStatus() == EmployeeBatchResult.Status.CREATED);
+        verify(employeeRepository, never()).findExistingEmails(any());
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method commits in chunks of commit size")
+    @Test
+    public void givenBatchLargerThanCommitSize_whenSaveEmployees_thenPersistEachChunkSeparately() {
+        // given - precondition or setup
+        properties.getBatch().setCommitSize(2);
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(employees);
+
+        // then - verify the output
+        assertThat(results).allMatch(result -> result.getStatus() == EmployeeBatchResult.Status.CREATED);
+        verify(employeeRepository, times(3)).persistAll(any(), eq(50));
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method treats non-positive batch sizes as 1")
+    @Test
+    public void givenZeroCommitAndBatchSize_whenSaveEmployees_thenPersistOneEmployeePerChunk() {
+        // given - precondition or setup
+        properties.getBatch().setCommitSize(0);
+        properties.getBatch().setJdbcBatchSize(0);
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(employees);
+
+        // then - verify the output
+        assertThat(results).allMatch(result -> result.getStatus() == EmployeeBatchResult.Status.CREATED);
+        verify(employeeRepository, times(employees.size())).persistAll(any(), eq(1));
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method falls back to single inserts after a lost race")
+    @Test
+    public void givenConcurrentDuplicate_whenSaveEmployees_thenOnlyConflictingItemIsRejected() {
+        // given - precondition or setup
+        Employee other = employees.get(1);
+        BDDMockito.willThrow(duplicateEmailViolation()).given(employeeRepository).persistAll(any(), eq(50));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(duplicateEmailViolation());
+        BDDMockito.given(employeeRepository.saveAndFlush(other)).willReturn(other);
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, other));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::getStatus).containsExactly(
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.CREATED);
     }
 
     // JUnit test for getAllEmployees method
@@ -163,6 +347,68 @@ public class EmployeeServiceTests {
         assertThat(employees).isEmpty();
     }
 
+    // JUnit test for getEmployeesPage method
+    @DisplayName("JUnit test for getEmployeesPage method with more rows remaining")
+    @Test
+    public void givenMoreRowsThanLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3)))
+                .willReturn(employees.subList(1, 4));
+
+        // when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeesPage(1L, 2);
+
+        // then - verify the output
+        assertThat(page.getContent()).extracting(Employee::getId).containsExactly(2L, 3L);
+        assertThat(page.getNextCursor()).isEqualTo(3L);
+    }
+
+    // JUnit test for getEmployeesPage method
+    @DisplayName("JUnit test for getEmployeesPage method on the last page")
+    @Test
+    public void givenLastRows_whenGetEmployeesPage_thenReturnPageWithoutNextCursor() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11)))
+                .willReturn(employees);
+
+        // when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeesPage(null, 10);
+
+        // then - verify the output
+        assertThat(page.getContent()).hasSize(employees.size());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // JUnit test for exportEmployees method
+    @DisplayName("JUnit test for exportEmployees method detaches each written employee")
+    @Test
+    public void givenEmployeeStream_whenExportEmployees_thenConsumeAndDetachEachEmployee() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.streamAll()).willReturn(employees.stream());
+        List<Employee> exported = new ArrayList<>();
+
+        // when - action or the behaviour that we are going test
+        employeeService.exportEmployees(exported::add);
+
+        // then - verify the output
+        assertThat(exported).isEqualTo(employees);
+        employees.forEach(e -> verify(employeeRepository).detach(e));
+    }
+
+    // JUnit test for findEmployeesByName method
+    @DisplayName("JUnit test for findEmployeesByName method clamps the page size")
+    @Test
+    public void givenOversizedPage_whenFindEmployeesByName_thenQueryWithMaximumPageSize() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findNamesByJPQL("John", "Doe", PageRequest.of(0, 1000))).willReturn(List.of());
+
+        // when - action or the behaviour that we are going test
+        var names = employeeService.findEmployeesByName("John", "Doe", -1, 5000);
+
+        // then - verify the output
+        assertThat(names).isEmpty();
+    }
+
     // JUnit test for getEmployeeById method
     @DisplayName("JUnit test for getEmployeeById method")
     @Test
@@ -198,20 +444,72 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
         employee.setEmail("updated@example.com");
         employee.setFirstName("UpdatedFirstName");
         employee.setLastName("UpdatedLastName");
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 0L,
+                "UpdatedFirstName", "UpdatedLastName", "updated@example.com")).willReturn(1);
 
         // when - action or the behaviour that we are going test
         var updatedEmployee = employeeService.updateEmployee(employee);
 
         // then - verify the output
         assertThat(updatedEmployee).isNotNull();
-        assertThat(updatedEmployee.getEmail()).isEqualTo(employee.getEmail());
-        assertThat(updatedEmployee.getFirstName()).isEqualTo(employee.getFirstName());
-        assertThat(updatedEmployee.getLastName()).isEqualTo(employee.getLastName());
+        assertThat(updatedEmployee.getEmail()).isEqualTo("updated@example.com");
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("UpdatedFirstName");
+        assertThat(updatedEmployee.getLastName()).isEqualTo("UpdatedLastName");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(1L);
+        verify(employeeRepository, never()).findById(any(Long.class));
+        verify(employeeRepository, never()).existsById(any(Long.class));
+    }
+
+    // JUnit test for updateEmployee method inside a transaction
+    @DisplayName("JUnit test for updateEmployee method only touches the caches once the transaction commits")
+    @Test
+    public void givenActiveTransaction_whenUpdateEmployee_thenCachesUpdatedAfterCommit() {
+        // given - precondition or setup
+        String collectionVersion = changeCounter.current();
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 0L,
+                employee.getFirstName(), employee.getLastName(), employee.getEmail())).willReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when - action or the behaviour that we are going test
+            employeeService.updateEmployee(employee);
+
+            // then - verify the output
+            verify(employeeCache, never()).put(any(Employee.class));
+            verify(jsonCache, never()).invalidate(any(Long.class));
+            assertThat(changeCounter.current()).isEqualTo(collectionVersion);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(employeeCache).put(employee);
+            verify(jsonCache).invalidate(employee.getId());
+            assertThat(changeCounter.current()).isNotEqualTo(collectionVersion);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // JUnit test for deleteEmployee method inside a transaction that rolls back
+    @DisplayName("JUnit test for deleteEmployee method leaves the caches alone when the transaction rolls back")
+    @Test
+    public void givenRolledBackTransaction_whenDeleteEmployee_thenCachesUntouched() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when - action or the behaviour that we are going test
+            employeeService.deleteEmployee(employee.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // then - verify the output
+            verify(employeeCache, never()).invalidate(any(Long.class));
+            verify(searchIndex, never()).remove(any(Long.class));
+            verify(employeeRepository, never()).evictFromSecondLevelCache(any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     // JUnit test for updateEmployee method given invalid id
@@ -219,7 +517,9 @@ public class EmployeeServiceTests {
     @Test
     public void givenInvalidEmployeeId_whenUpdateEmployee_thenThrowsException() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 0L,
+                employee.getFirstName(), employee.getLastName(), employee.getEmail())).willReturn(0);
+        BDDMockito.given(employeeRepository.existsById(employee.getId())).willReturn(false);
 
         // when - action or the behaviour that we are going test
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -227,7 +527,29 @@ public class EmployeeServiceTests {
         });
 
         // then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeCache, never()).put(any(Employee.class));
+        verify(metrics).notFound("update");
+    }
+
+    // JUnit test for updateEmployee method given stale version
+    @DisplayName("JUnit test for updateEmployee method given a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsConflictException() {
+        // given - precondition or setup
+        employee.setVersion(3L);
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 3L,
+                employee.getFirstName(), employee.getLastName(), employee.getEmail())).willReturn(0);
+        BDDMockito.given(employeeRepository.existsById(employee.getId())).willReturn(true);
+
+        // when - action or the behaviour that we are going test
+
+        // then - verify the output
+        assertThatThrownBy(() -> employeeService.updateEmployee(employee))
+                .isInstanceOf(ResourceConflictException.class)
+                .hasMessageContaining("version 3 is stale");
+        verify(employeeCache, never()).put(any(Employee.class));
+        verify(changeLog, never()).updated(any(Employee.class));
+        verify(metrics).conflict("update");
     }
 
     // JUnit test for deleteEmployee method
@@ -235,13 +557,35 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenDeleteEmployeeObject() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
+
+        // when - action or the behaviour that we are going test
+        employeeService.deleteEmployee(employee.getId());
+
+        // then - verify the output
+        verify(employeeRepository).deleteEmployeeById(employee.getId());
+        verify(employeeRepository).evictFromSecondLevelCache(List.of(employee.getId()));
+        verify(employeeRepository, never()).findById(any(Long.class));
+        verify(employeeRepository, never()).deleteById(any(Long.class));
+    }
+
+    // JUnit test for deleteEmployee method recording a tombstone
+    @DisplayName("JUnit test for deleteEmployee method records a tombstone in the change log")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRecordTombstone() {
+        // given - precondition or setup
+        String cursor = changeLog.current();
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
 
         // when - action or the behaviour that we are going test
         employeeService.deleteEmployee(employee.getId());
 
         // then - verify the output
-        verify(employeeRepository).deleteById(employee.getId());
+        assertThat(changeLog.since(cursor, 10)).get()
+                .satisfies(feed -> assertThat(feed.getChanges()).singleElement()
+                        .returns(employee.getId(), EmployeeChange::getId)
+                        .returns(EmployeeChange.Type.DELETED, EmployeeChange::getType)
+                        .returns(null, EmployeeChange::getVersion));
     }
 
     // JUnit test for deleteEmployee method given invalid id
@@ -249,7 +593,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenInvalidEmployeeId_whenDeleteEmployee_thenThrowsException() {
         // given - precondition or setup
-        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.empty());
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(0);
 
         // when - action or the behaviour that we are going test
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -257,6 +601,253 @@ public class EmployeeServiceTests {
         });
 
         // then - verify the output
-        verify(employeeRepository, never()).deleteById(any(Long.class));
+        verify(employeeCache, never()).invalidate(any(Long.class));
+        verify(metrics).notFound("delete");
+    }
+
+    // JUnit test for deleteEmployees method
+    @DisplayName("JUnit test for deleteEmployees method deletes the distinct ids in one statement")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenDeleteThemTogetherAndInvalidateCache() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.deleteEmployeesByIds(Set.of(1L, 2L, 3L))).willReturn(List.of(1L, 3L));
+
+        // when - action or the behaviour that we are going test
+        int deleted = employeeService.deleteEmployees(List.of(1L, 2L, 3L, 2L));
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository).deleteEmployeesByIds(Set.of(1L, 2L, 3L));
+        verify(employeeCache).invalidate(1L);
+        verify(employeeCache).invalidate(3L);
+        verify(employeeCache, never()).invalidate(2L);
+        verify(changeLog).deleted(1L);
+        verify(changeLog).deleted(3L);
+        verify(changeLog, never()).deleted(2L);
+    }
+
+    // JUnit test for getEmployeeById method served from the cache
+    @DisplayName("JUnit test for getEmployeeById method served from the cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByIdTwice_thenRepositoryIsQueriedOnce() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going test
+        employeeService.getEmployeeById(employee.getId());
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(cachedEmployee).contains(employee);
+        verify(employeeRepository, times(1)).findById(employee.getId());
+        assertThat(employeeCache.stats().hitCount()).isEqualTo(1);
+        assertThat(employeeCache.stats().missCount()).isEqualTo(1);
+    }
+
+    // JUnit test for getEmployeeById method given an unknown id
+    @DisplayName("JUnit test for getEmployeeById method does not cache missing employees")
+    @Test
+    public void givenUnknownEmployeeId_whenGetEmployeeByIdTwice_thenRepositoryIsQueriedEachTime() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findById(1L)).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going test
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> savedEmployee = employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        assertThat(savedEmployee).isEmpty();
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    // JUnit test for getEmployeeById method served from the cache without a transaction
+    @DisplayName("JUnit test for getEmployeeById method opens a transaction only to load a miss")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenNoTransactionIsOpened() {
+        // given - precondition or setup
+        employeeCache.put(employee);
+
+        // when - action or the behaviour that we are going test
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(cachedEmployee).contains(employee);
+        verify(transactionManager, never()).getTransaction(any());
+        verify(employeeRepository, never()).findById(any(Long.class));
+    }
+
+    // JUnit test for getEmployeeByEmail method
+    @DisplayName("JUnit test for getEmployeeByEmail method")
+    @Test
+    public void givenEmail_whenGetEmployeeByEmail_thenReturnEmployeeObject() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.findByEmail("unknown@example.com")).willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going test
+        Optional<Employee> found = employeeService.getEmployeeByEmail(employee.getEmail());
+        Optional<Employee> missing = employeeService.getEmployeeByEmail("unknown@example.com");
+
+        // then - verify the output
+        assertThat(found).contains(employee);
+        assertThat(missing).isEmpty();
+        verify(metrics).notFound("get_by_email");
+    }
+
+    // JUnit test for updateEmployee method refreshing the cache
+    @DisplayName("JUnit test for updateEmployee method refreshes the cached employee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenGetEmployeeByIdReturnsUpdatedEmployee() {
+        // given - precondition or setup
+        Employee updated = Employee.builder()
+                .id(employee.getId())
+                .firstName("John")
+                .lastName("Doe")
+                .email("updated@example.com")
+                .build();
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 0L,
+                "John", "Doe", "updated@example.com")).willReturn(1);
+        employeeService.getEmployeeById(employee.getId());
+
+        // when - action or the behaviour that we are going test
+        employeeService.updateEmployee(updated);
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(cachedEmployee).contains(updated);
+        verify(employeeCache).put(updated);
+    }
+
+    // JUnit test for deleteEmployee method invalidating the cache
+    @DisplayName("JUnit test for deleteEmployee method invalidates the cached employee")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenGetEmployeeByIdReturnsEmpty() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.findById(employee.getId()))
+                .willReturn(Optional.of(employee), Optional.empty());
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
+        employeeService.getEmployeeById(employee.getId());
+
+        // when - action or the behaviour that we are going test
+        employeeService.deleteEmployee(employee.getId());
+        Optional<Employee> deletedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(deletedEmployee).isEmpty();
+        verify(employeeCache).invalidate(employee.getId());
+    }
+
+    private static DataIntegrityViolationException duplicateEmailViolation() {
+        return new DataIntegrityViolationException("duplicate email",
+                new ConstraintViolationException("duplicate email", new SQLException(), null,
+                        ConstraintViolationException.ConstraintKind.UNIQUE, "uk_employees_email"));
+    }
+
+    // JUnit test for searchEmployees method
+    @DisplayName("JUnit test for searchEmployees method matches name and email prefixes")
+    @Test
+    public void givenSavedEmployees_whenSearchEmployees_thenReturnPrefixMatches() {
+        // given - precondition or setup
+        Employee zoe = Employee.builder().id(2L).firstName("Zoë").lastName("Dobbs").email("zdobbs@example.com").build();
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        BDDMockito.given(employeeRepository.saveAndFlush(zoe)).willReturn(zoe);
+        employeeService.saveEmployee(employee);
+        employeeService.saveEmployee(zoe);
+
+        // when - action or the behaviour that we are going test
+        List<EmployeeSearchResult> byLastName = employeeService.searchEmployees("do", 10);
+        List<EmployeeSearchResult> byFirstName = employeeService.searchEmployees(" ZOE", 10);
+        List<EmployeeSearchResult> byEmail = employeeService.searchEmployees("john.d", 10);
+        List<EmployeeSearchResult> limited = employeeService.searchEmployees("do", 1);
+
+        // then - verify the output
+        assertThat(byLastName).extracting(EmployeeSearchResult::getLastName).containsExactly("Dobbs", "Doe");
+        assertThat(byFirstName).extracting(EmployeeSearchResult::getId).containsExactly(2L);
+        assertThat(byEmail).extracting(EmployeeSearchResult::getId).containsExactly(1L);
+        assertThat(limited).hasSize(1);
+    }
+
+    // JUnit test for searchEmployees method after update and delete
+    @DisplayName("JUnit test for searchEmployees method follows updates and deletes")
+    @Test
+    public void givenUpdatedAndDeletedEmployees_whenSearchEmployees_thenIndexIsInSync() {
+        // given - precondition or setup
+        searchIndex.add(employee);
+        Employee jane = Employee.builder().id(2L).firstName("Jane").lastName("Doe").email("jane@example.com").build();
+        searchIndex.add(jane);
+        Employee renamed = Employee.builder().id(1L).firstName("Johnny").lastName("Smith")
+                .email(employee.getEmail()).build();
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(1L, 0L, "Johnny", "Smith", employee.getEmail()))
+                .willReturn(1);
+        BDDMockito.given(employeeRepository.deleteEmployeeById(2L)).willReturn(1);
+
+        // when - action or the behaviour that we are going test
+        employeeService.updateEmployee(renamed);
+        employeeService.deleteEmployee(2L);
+
+        // then - verify the output
+        assertThat(employeeService.searchEmployees("doe", 10)).isEmpty();
+        assertThat(employeeService.searchEmployees("johnny sm", 10)).extracting(EmployeeSearchResult::getLastName)
+                .containsExactly("Smith");
+    }
+
+    // JUnit test for deleteEmployee method with an expected version
+    @DisplayName("JUnit test for deleteEmployee method given a stale version")
+    @Test
+    public void givenStaleVersion_whenDeleteEmployeeWithVersion_thenThrowsConflictException() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.deleteEmployeeByIdAndVersion(employee.getId(), 2L)).willReturn(0);
+        BDDMockito.given(employeeRepository.existsById(employee.getId())).willReturn(true);
+
+        // when - action or the behaviour that we are going test
+
+        // then - verify the output
+        assertThatThrownBy(() -> employeeService.deleteEmployee(employee.getId(), 2L))
+                .isInstanceOf(ResourceConflictException.class);
+        verify(employeeCache, never()).invalidate(any(Long.class));
+        verify(metrics).conflict("delete");
+    }
+
+    // JUnit test for getCollectionVersion method
+    @DisplayName("JUnit test for getCollectionVersion method changes only after a successful write")
+    @Test
+    public void givenWrites_whenGetCollectionVersion_thenVersionChangesOnlyOnSuccess() {
+        // given - precondition or setup
+        BDDMockito.given(employeeRepository.deleteEmployeeById(1L)).willReturn(0);
+        BDDMockito.given(employeeRepository.deleteEmployeeById(2L)).willReturn(1);
+        String initialVersion = employeeService.getCollectionVersion();
+
+        // when - action or the behaviour that we are going test
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(1L));
+        String afterFailedDelete = employeeService.getCollectionVersion();
+        employeeService.deleteEmployee(2L);
+        String afterDelete = employeeService.getCollectionVersion();
+
+        // then - verify the output
+        assertThat(afterFailedDelete).isEqualTo(initialVersion);
+        assertThat(afterDelete).isNotEqualTo(initialVersion);
+    }
+
+    // JUnit test for the JSON fragment cache eviction
+    @DisplayName("JUnit test for updateEmployee and deleteEmployee methods evict the cached JSON")
+    @Test
+    public void givenCachedJson_whenUpdateAndDeleteEmployee_thenJsonIsEvicted() {
+        // given - precondition or setup
+        byte[] cachedJson = jsonCache.getBytes(employee);
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(employee.getId(), 0L,
+                "Johnny", employee.getLastName(), employee.getEmail())).willReturn(1);
+        BDDMockito.given(employeeRepository.deleteEmployeeById(employee.getId())).willReturn(1);
+        employee.setFirstName("Johnny");
+
+        // when - action or the behaviour that we are going test
+        Employee updatedEmployee = employeeService.updateEmployee(employee);
+        byte[] updatedJson = jsonCache.getBytes(updatedEmployee);
+        employeeService.deleteEmployee(employee.getId());
+
+        // then - verify the output
+        assertThat(new String(cachedJson)).contains("\"firstName\":\"John\"");
+        assertThat(new String(updatedJson)).contains("\"firstName\":\"Johnny\"").contains("\"version\":1");
+        verify(jsonCache, times(2)).invalidate(employee.getId());
     }
 }
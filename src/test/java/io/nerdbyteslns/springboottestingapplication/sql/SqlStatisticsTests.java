@@ -0,0 +1,75 @@
+package io.nerdbyteslns.springboottestingapplication.sql;
+
+import io.nerdbyteslns.springboottestingapplication.config.EmployeeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatisticsTests {
+
+    private SqlStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new SqlStatistics(new EmployeeProperties());
+    }
+
+    @DisplayName("JUnit test for normalize collapsing literals and IN lists")
+    @Test
+    public void givenStatementsWithLiteralsAndInLists_whenNormalize_thenCollapseThem() {
+        // given - precondition or setup
+        String sql = "select e1_0.id from employees e1_0\n  where e1_0.email in (?, ?,?) and e1_0.first_name = 'O''Brien' and e1_0.version > 42";
+
+        // when - action or the behaviour that we are going test
+        String statement = SqlStatistics.normalize(sql);
+
+        // then - verify the output
+        assertThat(statement).isEqualTo("select e1_0.id from employees e1_0 where e1_0.email in (...) and e1_0.first_name = ? and e1_0.version > ?");
+    }
+
+    @DisplayName("JUnit test for recordExecution aggregating executions of one statement")
+    @Test
+    public void givenExecutionsOfOneStatement_whenRecordExecution_thenAggregateCountTimeAndRows() {
+        // given - precondition or setup
+        SqlStatistics.Stats first = statistics.statsFor("delete from employees where id in (?)");
+        SqlStatistics.Stats second = statistics.statsFor("delete from employees where id in (?, ?)");
+
+        // when - action or the behaviour that we are going test
+        statistics.recordExecution(first, 2_000_000);
+        statistics.recordExecution(second, 6_000_000);
+        second.addRow();
+        List<SqlStatistics.StatementSummary> summaries = statistics.summaries();
+
+        // then - verify the output
+        assertThat(summaries).containsExactly(new SqlStatistics.StatementSummary(
+                "delete from employees where id in (...)", 2, 8.0, 4.0, 6.0, 1));
+    }
+
+    @DisplayName("JUnit test for statsFor capping distinct statements rather than raw SQL variants")
+    @Test
+    public void givenManyVariantsOfOneStatement_whenStatsFor_thenCapOnlyDistinctStatements() {
+        // given - precondition or setup
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getSql().setMaxStatements(2);
+        statistics = new SqlStatistics(properties);
+
+        // when - action or the behaviour that we are going test
+        for (int i = 1; i <= 5; i++) {
+            statistics.statsFor("select * from employees where id = " + i);
+        }
+        SqlStatistics.Stats second = statistics.statsFor("delete from employees where id = ?");
+        SqlStatistics.Stats third = statistics.statsFor("update employees set version = version + 1");
+
+        // then - verify the output
+        assertThat(statistics.statsFor("select * from employees where id = 6"))
+                .isSameAs(statistics.statsFor("select * from employees where id = 1"));
+        assertThat(second).isNotSameAs(third);
+        assertThat(statistics.summaries()).extracting(SqlStatistics.StatementSummary::statement)
+                .containsExactlyInAnyOrder("select * from employees where id = ?", "delete from employees where id = ?",
+                        SqlStatistics.OTHER);
+    }
+}